@@ -0,0 +1,223 @@
+package com.backstreetbrogrammer.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Runs benchmarks under JMH's GC profiler and checks bytes/op against per-benchmark budgets, so a pipeline
+// that starts boxing or allocating per element fails the run instead of only getting slower:
+//
+//   java -cp target/benchmarks.jar com.backstreetbrogrammer.benchmark.AllocationBudgets \
+//        [--budgets my-budgets.txt] [--include regex] [--tolerance 1] [--out allocations.json]
+//
+// Budgets default to the allocation-budgets.txt resource; without --include only budgeted benchmarks run.
+// Exits with status 1 when any benchmark allocates more than its budget plus the tolerance.
+public final class AllocationBudgets {
+
+    static final String DEFAULT_BUDGETS = "/allocation-budgets.txt";
+
+    private final Map<Pattern, Double> budgets;
+    private final double toleranceBytes;
+
+    AllocationBudgets(final Map<Pattern, Double> budgets, final double toleranceBytes) {
+        this.budgets = budgets;
+        this.toleranceBytes = toleranceBytes;
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final Map<String, String> options = new LinkedHashMap<>();
+        final List<String> includes = new ArrayList<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            if ("--include".equals(args[i])) {
+                includes.add(args[i + 1]);
+            } else {
+                options.put(args[i], args[i + 1]);
+            }
+        }
+
+        final Map<Pattern, Double> budgets;
+        if (options.containsKey("--budgets")) {
+            try (final Reader reader = Files.newBufferedReader(Path.of(options.get("--budgets")),
+                                                               StandardCharsets.UTF_8)) {
+                budgets = parseBudgets(reader);
+            }
+        } else {
+            try (final InputStream in = AllocationBudgets.class.getResourceAsStream(DEFAULT_BUDGETS)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing resource " + DEFAULT_BUDGETS);
+                }
+                budgets = parseBudgets(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        }
+        final AllocationBudgets harness =
+                new AllocationBudgets(budgets, Double.parseDouble(options.getOrDefault("--tolerance", "1")));
+
+        final ChainedOptionsBuilder opt = new OptionsBuilder().addProfiler(GCProfiler.class);
+        if (includes.isEmpty()) {
+            budgets.keySet().forEach(pattern -> opt.include(pattern.pattern()));
+        } else {
+            includes.forEach(opt::include);
+        }
+        if (options.containsKey("--forks")) {
+            opt.forks(Integer.parseInt(options.get("--forks")));
+        }
+        if (options.containsKey("--warmup")) {
+            opt.warmupIterations(Integer.parseInt(options.get("--warmup")));
+        }
+        if (options.containsKey("--measurement")) {
+            opt.measurementIterations(Integer.parseInt(options.get("--measurement")));
+        }
+
+        final List<Check> checks = harness.check(new Runner(opt.build()).run());
+        print(checks);
+        if (options.containsKey("--out")) {
+            write(Path.of(options.get("--out")), checks);
+        }
+        final List<Check> failures = checks.stream().filter(Check::failed).collect(Collectors.toList());
+        if (!failures.isEmpty()) {
+            System.out.printf("%n%d benchmark(s) over their allocation budget%n", failures.size());
+            System.exit(1);
+        }
+    }
+
+    // "<regex> = <bytes/op>" per line, '#' starts a comment; keeps file order so the first match wins
+    static Map<Pattern, Double> parseBudgets(final Reader reader) throws IOException {
+        final Map<Pattern, Double> budgets = new LinkedHashMap<>();
+        final BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int number = 0;
+        while ((line = lines.readLine()) != null) {
+            number++;
+            final int comment = line.indexOf('#');
+            final String entry = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            final int eq = entry.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Line " + number + ": expected <regex> = <bytes/op> but got "
+                                                           + entry);
+            }
+            budgets.put(Pattern.compile(entry.substring(0, eq).trim()),
+                        Double.parseDouble(entry.substring(eq + 1).trim()));
+        }
+        return budgets;
+    }
+
+    Double budgetFor(final String benchmark) {
+        for (final Map.Entry<Pattern, Double> budget : budgets.entrySet()) {
+            if (budget.getKey().matcher(benchmark).find()) {
+                return budget.getValue();
+            }
+        }
+        return null;
+    }
+
+    List<Check> check(final Collection<RunResult> results) {
+        final List<Check> checks = new ArrayList<>();
+        for (final RunResult result : results) {
+            final BenchmarkParams params = result.getParams();
+            final Map<String, String> values = new TreeMap<>();
+            params.getParamsKeys().forEach(key -> values.put(key, params.getParam(key)));
+            final Result<?> primary = result.getPrimaryResult();
+            checks.add(new Check(params.getBenchmark(),
+                                 values.toString(),
+                                 primary.getScore(),
+                                 primary.getScoreUnit(),
+                                 SecondaryResults.score(result, "gc.alloc.rate.norm"),
+                                 SecondaryResults.score(result, "gc.count"),
+                                 budgetFor(params.getBenchmark()),
+                                 toleranceBytes));
+        }
+        return checks;
+    }
+
+    static void print(final List<Check> checks) {
+        System.out.printf(Locale.ROOT, "%n%-90s %-20s %14s %-8s %14s %8s %12s %6s%n", "Benchmark", "Params", "Score",
+                          "Units", "B/op", "GCs", "Budget", "");
+        for (final Check check : checks) {
+            System.out.printf(Locale.ROOT, "%-90s %-20s %14.3f %-8s %14.1f %8.0f %12s %6s%n", check.benchmark,
+                              check.params, check.score, check.unit, check.bytesPerOp, check.gcCount,
+                              check.budget == null ? "-" : String.format(Locale.ROOT, "%.0f", check.budget),
+                              check.budget == null ? "" : check.failed() ? "FAIL" : "OK");
+        }
+    }
+
+    static void write(final Path path, final List<Check> checks) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        final String records = checks.stream()
+                                     .map(check -> "    " + check.toJson())
+                                     .collect(Collectors.joining(",\n"));
+        Files.writeString(path, "{\n  \"records\": [\n" + records + "\n  ]\n}\n", StandardCharsets.UTF_8);
+    }
+
+    static final class Check {
+
+        final String benchmark;
+        final String params;
+        final double score;
+        final String unit;
+        final double bytesPerOp;
+        final double gcCount;
+        final Double budget;
+        final double toleranceBytes;
+
+        Check(final String benchmark, final String params, final double score, final String unit,
+              final double bytesPerOp, final double gcCount, final Double budget, final double toleranceBytes) {
+            this.benchmark = benchmark;
+            this.params = params;
+            this.score = score;
+            this.unit = unit;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+            this.budget = budget;
+            this.toleranceBytes = toleranceBytes;
+        }
+
+        // a missing measurement counts as a failure: the budget could not be verified
+        boolean failed() {
+            return budget != null && !(bytesPerOp <= budget + toleranceBytes);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                                 "{\"benchmark\": %s, \"params\": %s, \"score\": %s, \"unit\": %s, "
+                                         + "\"bytesPerOp\": %s, \"gcCount\": %s, \"budget\": %s, \"failed\": %s}",
+                                 BenchmarkSweep.quote(benchmark), BenchmarkSweep.quote(params), number(score),
+                                 BenchmarkSweep.quote(unit), number(bytesPerOp), number(gcCount),
+                                 budget == null ? "null" : number(budget), failed());
+        }
+
+        private static String number(final double value) {
+            return Double.isFinite(value) ? Double.toString(value) : "null";
+        }
+    }
+}
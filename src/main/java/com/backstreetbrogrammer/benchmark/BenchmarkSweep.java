@@ -0,0 +1,366 @@
+package com.backstreetbrogrammer.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Runs every selected suite over a grid of @Param values, benchmark thread counts and common-pool parallelism,
+// keeps JMH's JSON output per grid cell plus one flat summary file per run, and compares the summary with a
+// stored baseline:
+//
+//   java -cp target/benchmarks.jar com.backstreetbrogrammer.benchmark.BenchmarkSweep \
+//        --include ParallelSumLimitBenchmarking --param N=1000,1000000 --threads 1 --parallelism 1,2,4 \
+//        --baseline benchmark-results/baseline.json --threshold 10
+//
+// Exits with status 1 when any benchmark regressed by more than the threshold.
+public final class BenchmarkSweep {
+
+    static final String COMMON_POOL_PARALLELISM = "java.util.concurrent.ForkJoinPool.common.parallelism";
+
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*(\"(?:[^\"\\\\]|\\\\.)*\"|[-+0-9.eE]+|null)");
+
+    private final List<String> includes = new ArrayList<>();
+    private final Map<String, String[]> params = new LinkedHashMap<>();
+    private int[] threads = {1};
+    private int[] parallelism = {};
+    private Integer forks;
+    private Integer warmupIterations;
+    private Integer measurementIterations;
+    Path outputDirectory = Path.of("benchmark-results");
+    String label = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    private Path baseline;
+    private Path saveBaseline;
+    private double thresholdPercent = 10D;
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final BenchmarkSweep sweep = parse(args);
+        final List<Record> records = sweep.run();
+        final Path summary = sweep.outputDirectory.resolve(sweep.label + "-summary.json");
+        write(summary, sweep.label, records);
+        System.out.printf("%nSummary written to %s%n", summary);
+        printSpeedups(records);
+
+        if (sweep.saveBaseline != null) {
+            write(sweep.saveBaseline, sweep.label, records);
+            System.out.printf("Baseline saved to %s%n", sweep.saveBaseline);
+        }
+        if (sweep.baseline != null) {
+            final List<Comparison> regressions = compare(read(sweep.baseline), records, sweep.thresholdPercent)
+                    .stream()
+                    .filter(Comparison::isRegression)
+                    .collect(Collectors.toList());
+            if (!regressions.isEmpty()) {
+                System.out.printf("%n%d regression(s) above %.1f%% against %s:%n",
+                                  regressions.size(), sweep.thresholdPercent, sweep.baseline);
+                regressions.forEach(System.out::println);
+                System.exit(1);
+            }
+            System.out.printf("%nNo regressions above %.1f%% against %s%n", sweep.thresholdPercent, sweep.baseline);
+        }
+    }
+
+    static BenchmarkSweep parse(final String[] args) {
+        final BenchmarkSweep sweep = new BenchmarkSweep();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--include":
+                    sweep.includes.addAll(Arrays.asList(value.split(",")));
+                    break;
+                case "--param": {
+                    final int eq = value.indexOf('=');
+                    if (eq <= 0) {
+                        throw new IllegalArgumentException("Expected --param name=v1,v2 but got " + value);
+                    }
+                    sweep.params.put(value.substring(0, eq), value.substring(eq + 1).split(","));
+                    break;
+                }
+                case "--n":
+                    sweep.params.put("N", value.split(","));
+                    break;
+                case "--threads":
+                    sweep.threads = ints(value);
+                    break;
+                case "--parallelism":
+                    sweep.parallelism = ints(value);
+                    break;
+                case "--forks":
+                    sweep.forks = Integer.parseInt(value);
+                    break;
+                case "--warmup":
+                    sweep.warmupIterations = Integer.parseInt(value);
+                    break;
+                case "--measurement":
+                    sweep.measurementIterations = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    sweep.outputDirectory = Path.of(value);
+                    break;
+                case "--label":
+                    sweep.label = value;
+                    break;
+                case "--baseline":
+                    sweep.baseline = Path.of(value);
+                    break;
+                case "--save-baseline":
+                    sweep.saveBaseline = Path.of(value);
+                    break;
+                case "--threshold":
+                    sweep.thresholdPercent = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (sweep.includes.isEmpty()) {
+            sweep.includes.add(".*Benchmarking.*");
+        }
+        return sweep;
+    }
+
+    List<Record> run() throws RunnerException, IOException {
+        Files.createDirectories(outputDirectory);
+        final List<Record> records = new ArrayList<>();
+        // 0 stands for "leave the common pool at its default size"
+        final int[] poolSizes = parallelism.length == 0 ? new int[]{0} : parallelism;
+        for (final int poolSize : poolSizes) {
+            for (final int threadCount : threads) {
+                final ChainedOptionsBuilder options = new OptionsBuilder()
+                        .threads(threadCount)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(outputDirectory.resolve(label + "-fjp" + poolSize + "-t" + threadCount + ".json")
+                                               .toString());
+                includes.forEach(options::include);
+                params.forEach(options::param);
+                if (poolSize > 0) {
+                    options.jvmArgsAppend("-D" + COMMON_POOL_PARALLELISM + "=" + poolSize);
+                }
+                if (forks != null) {
+                    options.forks(forks);
+                }
+                if (warmupIterations != null) {
+                    options.warmupIterations(warmupIterations);
+                }
+                if (measurementIterations != null) {
+                    options.measurementIterations(measurementIterations);
+                }
+                records.addAll(toRecords(new Runner(options.build()).run(), poolSize));
+            }
+        }
+        return records;
+    }
+
+    static List<Record> toRecords(final Collection<RunResult> results, final int poolSize) {
+        final List<Record> records = new ArrayList<>();
+        for (final RunResult result : results) {
+            final BenchmarkParams benchmarkParams = result.getParams();
+            final Map<String, String> values = new TreeMap<>();
+            benchmarkParams.getParamsKeys().forEach(key -> values.put(key, benchmarkParams.getParam(key)));
+            final Result<?> primary = result.getPrimaryResult();
+            records.add(new Record(benchmarkParams.getBenchmark(),
+                                   values.entrySet().stream()
+                                         .map(e -> e.getKey() + "=" + e.getValue())
+                                         .collect(Collectors.joining(",")),
+                                   benchmarkParams.getThreads(),
+                                   poolSize,
+                                   benchmarkParams.getMode().shortLabel(),
+                                   primary.getScoreUnit(),
+                                   primary.getScore(),
+                                   primary.getScoreError()));
+        }
+        return records;
+    }
+
+    static void write(final Path path, final String label, final List<Record> records) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n  \"label\": ").append(quote(label)).append(",\n  \"records\": [\n");
+        for (int i = 0; i < records.size(); i++) {
+            json.append("    ").append(records.get(i).toJson()).append(i + 1 < records.size() ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+        Files.writeString(path, json.toString(), StandardCharsets.UTF_8);
+    }
+
+    // reads the summary files written by write(): one flat record object per line
+    static List<Record> read(final Path path) throws IOException {
+        final List<Record> records = new ArrayList<>();
+        for (final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (!line.trim().startsWith("{\"benchmark\"")) {
+                continue;
+            }
+            final Map<String, String> fields = new LinkedHashMap<>();
+            final Matcher matcher = FIELD.matcher(line);
+            while (matcher.find()) {
+                fields.put(matcher.group(1), unquote(matcher.group(2)));
+            }
+            records.add(new Record(fields.get("benchmark"),
+                                   fields.get("params"),
+                                   Integer.parseInt(fields.get("threads")),
+                                   Integer.parseInt(fields.get("parallelism")),
+                                   fields.get("mode"),
+                                   fields.get("unit"),
+                                   Double.parseDouble(fields.get("score")),
+                                   fields.get("error") == null ? Double.NaN : Double.parseDouble(fields.get("error"))));
+        }
+        return records;
+    }
+
+    static List<Comparison> compare(final List<Record> baseline, final List<Record> current,
+                                    final double thresholdPercent) {
+        final Map<String, Record> baselineByKey = baseline.stream()
+                                                          .collect(Collectors.toMap(Record::key, r -> r, (a, b) -> b));
+        final List<Comparison> comparisons = new ArrayList<>();
+        for (final Record record : current) {
+            final Record previous = baselineByKey.get(record.key());
+            if (previous != null && previous.unit.equals(record.unit)) {
+                comparisons.add(new Comparison(previous, record, thresholdPercent));
+            }
+        }
+        return comparisons;
+    }
+
+    // speedup of every grid cell relative to the cell with the fewest threads and smallest pool
+    static void printSpeedups(final List<Record> records) {
+        final Map<String, List<Record>> byBenchmark = new TreeMap<>();
+        for (final Record record : records) {
+            byBenchmark.computeIfAbsent(record.benchmark + " " + record.params, k -> new ArrayList<>()).add(record);
+        }
+        System.out.printf("%n%-90s %8s %8s %14s %10s%n", "Benchmark", "Threads", "FJP", "Score", "Speedup");
+        byBenchmark.forEach((name, cells) -> {
+            cells.sort(Comparator.comparingInt((Record r) -> r.parallelism).thenComparingInt(r -> r.threads));
+            final Record first = cells.get(0);
+            for (final Record cell : cells) {
+                System.out.printf("%-90s %8d %8s %14.3f %9.2fx%n", name, cell.threads,
+                                  cell.parallelism == 0 ? "default" : Integer.toString(cell.parallelism),
+                                  cell.score, first.improvementTo(cell));
+            }
+        });
+    }
+
+    private static int[] ints(final String csv) {
+        return Arrays.stream(csv.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    static String quote(final String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static String unquote(final String s) {
+        if ("null".equals(s)) {
+            return null;
+        }
+        if (!s.startsWith("\"")) {
+            return s;
+        }
+        return s.substring(1, s.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+
+    static final class Record {
+
+        final String benchmark;
+        final String params;
+        final int threads;
+        final int parallelism;
+        final String mode;
+        final String unit;
+        final double score;
+        final double error;
+
+        Record(final String benchmark, final String params, final int threads, final int parallelism,
+               final String mode, final String unit, final double score, final double error) {
+            this.benchmark = benchmark;
+            this.params = params == null ? "" : params;
+            this.threads = threads;
+            this.parallelism = parallelism;
+            this.mode = mode;
+            this.unit = unit;
+            this.score = score;
+            this.error = error;
+        }
+
+        String key() {
+            return benchmark + "|" + params + "|" + mode + "|threads=" + threads + "|fjp=" + parallelism;
+        }
+
+        // throughput-style units (ops/time) are better when higher, time-per-op units when lower
+        boolean higherIsBetter() {
+            return unit.startsWith("ops/");
+        }
+
+        // > 1 means other is faster than this
+        double improvementTo(final Record other) {
+            return higherIsBetter() ? other.score / score : score / other.score;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                                 "{\"benchmark\": %s, \"params\": %s, \"threads\": %d, \"parallelism\": %d, "
+                                         + "\"mode\": %s, \"unit\": %s, \"score\": %s, \"error\": %s}",
+                                 quote(benchmark), quote(params), threads, parallelism, quote(mode), quote(unit),
+                                 score, Double.isFinite(error) ? Double.toString(error) : "null");
+        }
+
+        @Override
+        public String toString() {
+            return key() + " = " + score + " " + unit;
+        }
+    }
+
+    static final class Comparison {
+
+        private final Record baseline;
+        private final Record current;
+        private final double thresholdPercent;
+
+        Comparison(final Record baseline, final Record current, final double thresholdPercent) {
+            this.baseline = baseline;
+            this.current = current;
+            this.thresholdPercent = thresholdPercent;
+        }
+
+        // positive = slower than the baseline
+        double regressionPercent() {
+            return (1D / baseline.improvementTo(current) - 1D) * 100D;
+        }
+
+        boolean isRegression() {
+            return regressionPercent() > thresholdPercent;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %.3f -> %.3f %s (%+.1f%%)", current.key(), baseline.score,
+                                 current.score, current.unit, regressionPercent());
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.backstreetbrogrammer.benchmark;
+
+import com.backstreetbrogrammer.benchmark.BenchmarkSweep.Record;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Reruns the parallel workloads of ParallelSumLimit, SplittingData and MergingResults with the common pool
+// sized so that 2, 4 .. all cores workers run the stream (one forked JVM per size) and reports, per workload,
+// the speedup and efficiency at every worker count (pool size + the calling thread) plus the serial fraction
+// fitted to Amdahl's law and the sigma/kappa of the Universal Scalability Law:
+//
+//   java -cp target/benchmarks.jar com.backstreetbrogrammer.benchmark.CoreScaling --n 1000000,10000000
+//
+// Accepts every BenchmarkSweep option; --include and --parallelism override the defaults below.
+public final class CoreScaling {
+
+    static final String DEFAULT_INCLUDE = "(ParallelSumLimitBenchmarking|SplittingDataBenchmarking"
+            + "|MergingResultsBenchmarking)\\.(?!\\w*no_parallel)\\w*_parallel$";
+
+    private CoreScaling() {
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final List<String> arguments = new ArrayList<>();
+        final List<String> given = Arrays.asList(args);
+        if (!given.contains("--include")) {
+            arguments.addAll(List.of("--include", DEFAULT_INCLUDE));
+        }
+        if (!given.contains("--parallelism")) {
+            arguments.addAll(List.of("--parallelism", poolSizes(Runtime.getRuntime().availableProcessors())));
+        }
+        arguments.addAll(given);
+
+        final BenchmarkSweep sweep = BenchmarkSweep.parse(arguments.toArray(new String[0]));
+        final List<Record> records = sweep.run();
+        final Path summary = sweep.outputDirectory.resolve(sweep.label + "-scaling.json");
+        BenchmarkSweep.write(summary, sweep.label, records);
+        System.out.printf("%nSummary written to %s%n", summary);
+        print(scale(records));
+    }
+
+    // 1, 2, 4, .. up to and always including cores
+    static String coreCounts(final int cores) {
+        final List<Integer> counts = new ArrayList<>();
+        for (int p = 1; p < cores; p <<= 1) {
+            counts.add(p);
+        }
+        counts.add(cores);
+        return counts.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    // The thread that starts a parallel stream also runs its tasks, so a common pool of parallelism p gives
+    // the workload p + 1 workers: pool sizes for 2, 4, .. up to cores workers, or 1 on a single core
+    static String poolSizes(final int cores) {
+        final String sizes = Arrays.stream(coreCounts(cores).split(","))
+                                   .mapToInt(Integer::parseInt)
+                                   .filter(workers -> workers > 1)
+                                   .mapToObj(workers -> String.valueOf(workers - 1))
+                                   .collect(Collectors.joining(","));
+        return sizes.isEmpty() ? "1" : sizes;
+    }
+
+    // curves are indexed by workers (pool size + 1) and measured against the smallest run
+    static List<Curve> scale(final List<Record> records) {
+        final Map<String, List<Record>> byWorkload = new TreeMap<>();
+        for (final Record record : records) {
+            if (record.parallelism > 0) {
+                byWorkload.computeIfAbsent(record.benchmark + " " + record.params, k -> new ArrayList<>())
+                          .add(record);
+            }
+        }
+        final List<Curve> curves = new ArrayList<>();
+        byWorkload.forEach((workload, cells) -> {
+            cells.sort(Comparator.comparingInt(r -> r.parallelism));
+            final int[] workers = cells.stream().mapToInt(r -> r.parallelism + 1).toArray();
+            final double[] speedups = cells.stream().mapToDouble(r -> cells.get(0).improvementTo(r)).toArray();
+            curves.add(new Curve(workload, workers, speedups));
+        });
+        return curves;
+    }
+
+    static void print(final List<Curve> curves) {
+        for (final Curve curve : curves) {
+            System.out.printf(Locale.ROOT, "%n%s (speedup and efficiency relative to %d workers)%n",
+                              curve.workload, curve.workers[0]);
+            System.out.printf(Locale.ROOT, "%8s %10s %12s %12s%n", "Workers", "Speedup", "Efficiency", "Karp-Flatt");
+            for (int i = 0; i < curve.workers.length; i++) {
+                System.out.printf(Locale.ROOT, "%8d %9.2fx %11.1f%% %12s%n", curve.workers[i], curve.speedups[i],
+                                  curve.efficiency(i) * 100D,
+                                  i == 0 ? "-" : String.format(Locale.ROOT, "%.3f", curve.karpFlatt(i)));
+            }
+            final double[] usl = curve.universalScalability();
+            System.out.printf(Locale.ROOT, "Amdahl serial fraction = %.3f, USL sigma = %.4f, kappa = %.5f%n",
+                              curve.amdahlSerialFraction(), usl[0], usl[1]);
+        }
+    }
+
+    // speedups[i] is the speedup of workers[i] over workers[0]; the fits work on the relative run time
+    // t(w) = 1 / speedup, which is the model's run time up to a constant factor, so no single-worker run is needed
+    static final class Curve {
+
+        final String workload;
+        final int[] workers;
+        final double[] speedups;
+
+        Curve(final String workload, final int[] workers, final double[] speedups) {
+            this.workload = workload;
+            this.workers = workers;
+            this.speedups = speedups;
+        }
+
+        // relative efficiency: the baseline run counts as fully efficient
+        double efficiency(final int i) {
+            return speedups[i] * workers[0] / workers[i];
+        }
+
+        // serial fraction solved from one point: t(w) / t(w0) = (f + (1 - f)/w) / (f + (1 - f)/w0),
+        // which for w0 = 1 is the Karp-Flatt metric (1/S - 1/w) / (1 - 1/w)
+        double karpFlatt(final int i) {
+            final double w = workers[i];
+            final double w0 = workers[0];
+            final double r = 1D / speedups[i];
+            return (r / w0 - 1D / w) / ((r / w0 - 1D / w) - (r - 1D));
+        }
+
+        // Amdahl: t(w) = c(f + (1 - f)/w) = a + b/w, fitted by least squares; f = a / (a + b)
+        double amdahlSerialFraction() {
+            final double[][] rows = new double[workers.length][];
+            final double[] times = new double[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                rows[i] = new double[]{1D, 1D / workers[i]};
+                times[i] = 1D / speedups[i];
+            }
+            final double[] fit = leastSquares(rows, times);
+            if (fit == null) {
+                return Double.NaN;
+            }
+            return Math.max(0D, Math.min(1D, fit[0] / (fit[0] + fit[1])));
+        }
+
+        // USL: t(w) = c(1 + sigma(w - 1) + kappa w(w - 1)) / w, so w t(w) = c + c sigma(w - 1) + c kappa w(w - 1)
+        // is linear in three unknowns; with only two distinct worker counts kappa is taken as 0
+        double[] universalScalability() {
+            final double[][] rows = new double[workers.length][];
+            final double[][] contentionRows = new double[workers.length][];
+            final double[] scaled = new double[workers.length];
+            for (int i = 0; i < workers.length; i++) {
+                final double w = workers[i];
+                rows[i] = new double[]{1D, w - 1D, w * (w - 1D)};
+                contentionRows[i] = new double[]{1D, w - 1D};
+                scaled[i] = w / speedups[i];
+            }
+            final double[] fit = leastSquares(rows, scaled);
+            if (fit != null) {
+                return new double[]{fit[1] / fit[0], fit[2] / fit[0]};
+            }
+            final double[] contention = leastSquares(contentionRows, scaled);
+            return contention == null
+                    ? new double[]{Double.NaN, Double.NaN}
+                    : new double[]{contention[1] / contention[0], 0D};
+        }
+
+        // solves the normal equations by Gaussian elimination; null when the regressors are not independent
+        static double[] leastSquares(final double[][] rows, final double[] y) {
+            final int k = rows[0].length;
+            final double[][] a = new double[k][k + 1];
+            for (int r = 0; r < rows.length; r++) {
+                for (int i = 0; i < k; i++) {
+                    for (int j = 0; j < k; j++) {
+                        a[i][j] += rows[r][i] * rows[r][j];
+                    }
+                    a[i][k] += rows[r][i] * y[r];
+                }
+            }
+            double scale = 0D;
+            for (int i = 0; i < k; i++) {
+                scale = Math.max(scale, Math.abs(a[i][i]));
+            }
+            for (int col = 0; col < k; col++) {
+                int pivot = col;
+                for (int r = col + 1; r < k; r++) {
+                    if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) {
+                        pivot = r;
+                    }
+                }
+                if (Math.abs(a[pivot][col]) <= 1e-9 * scale) {
+                    return null;
+                }
+                final double[] swap = a[col];
+                a[col] = a[pivot];
+                a[pivot] = swap;
+                for (int r = 0; r < k; r++) {
+                    if (r != col) {
+                        final double factor = a[r][col] / a[col][col];
+                        for (int c = col; c <= k; c++) {
+                            a[r][c] -= factor * a[col][c];
+                        }
+                    }
+                }
+            }
+            final double[] solution = new double[k];
+            for (int i = 0; i < k; i++) {
+                solution[i] = a[i][k] / a[i][i];
+            }
+            return solution;
+        }
+    }
+}
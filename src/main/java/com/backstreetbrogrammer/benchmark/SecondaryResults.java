@@ -0,0 +1,23 @@
+package com.backstreetbrogrammer.benchmark;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+// Lookups into the secondary results that profilers attach to a run. The gc profiler labels its results with a
+// leading "\u00b7" (e.g. "\u00b7gc.alloc.rate.norm"), so labels are matched by suffix.
+public final class SecondaryResults {
+
+    private SecondaryResults() {
+    }
+
+    // score of the first secondary result whose label ends with the given one, or NaN when there is none
+    public static double score(final RunResult result, final String label) {
+        for (final String key : result.getSecondaryResults().keySet()) {
+            if (key.endsWith(label)) {
+                final Result<?> secondary = result.getSecondaryResults().get(key);
+                return secondary.getScore();
+            }
+        }
+        return Double.NaN;
+    }
+}
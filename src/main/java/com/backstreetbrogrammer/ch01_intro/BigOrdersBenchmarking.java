@@ -0,0 +1,89 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderColumns;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BigOrdersBenchmarking {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "META", "TSLA", "NVDA", "JPM"};
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    @Param({"1000000", "10000000"})
+    private int N;
+
+    @Param({"1000"})
+    private int QTY;
+
+    private final ParallelStreamIntro intro = new ParallelStreamIntro();
+
+    private List<Order> orders;
+    private OrderColumns orderColumns;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(314159L);
+        orders = new ArrayList<>(N);
+        for (int i = 0; i < N; i++) {
+            orders.add(new Order(SYMBOLS[random.nextInt(SYMBOLS.length)],
+                                 100D + random.nextInt(10_000) / 100D,
+                                 1 + random.nextInt(2_000),
+                                 SIDES[random.nextInt(SIDES.length)]));
+        }
+        orderColumns = OrderColumns.of(orders);
+    }
+
+    @Benchmark
+    public long count_collection_sequential() {
+        return intro.usingCollectionsSequential(orders, QTY);
+    }
+
+    @Benchmark
+    public long count_collection_parallel() {
+        return intro.usingCollectionsParallel(orders, QTY);
+    }
+
+    @Benchmark
+    public long count_stream_parallel() {
+        return intro.usingStreamParallel(orders, QTY);
+    }
+
+    @Benchmark
+    public long count_columns_sequential() {
+        return intro.usingColumnsSequential(orderColumns, QTY);
+    }
+
+    @Benchmark
+    public long count_columns_parallel() {
+        return intro.usingColumnsParallel(orderColumns, QTY);
+    }
+
+    @Benchmark
+    public long count_quantity_column_parallel() {
+        return orderColumns.quantities(true)
+                           .filter(quantity -> quantity >= QTY)
+                           .count();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(BigOrdersBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,179 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import com.backstreetbrogrammer.model.CompactOrder;
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.SymbolDictionary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgs = {"-Xms8g", "-Xmx8g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OrderEncodingBenchmarking {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "META", "TSLA", "NVDA", "JPM"};
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    @Param({"10000000"})
+    private int N;
+
+    // only the hash and equals benchmarks take these lists; the footprint benchmarks build their own
+    @State(Scope.Benchmark)
+    public static class Orders {
+
+        List<Order> orders;
+        List<Order> orderCopies;
+        List<CompactOrder> compactOrders;
+        List<CompactOrder> compactOrderCopies;
+
+        @Setup
+        public void setup(final OrderEncodingBenchmarking benchmark) {
+            final int n = benchmark.N;
+            orders = build(n, OrderEncodingBenchmarking::parsedOrder);
+            orderCopies = build(n, OrderEncodingBenchmarking::parsedOrder);
+            compactOrders = build(n, i -> CompactOrder.of(parsedOrder(i)));
+            compactOrderCopies = build(n, i -> CompactOrder.of(parsedOrder(i)));
+        }
+    }
+
+    // record footprint measured as the retained heap growth after building N orders, the way JOL's
+    // GraphLayout.totalSize() would report it for the whole list
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public double bytesPerOrder;
+    }
+
+    @Benchmark
+    public int hash_orders_objects_hash(final Orders data) {
+        int hash = 0;
+        for (final Order order : data.orders) {
+            hash += Objects.hash(order.getOrderId(), order.getSymbol(), order.getPrice(), order.getQuantity(),
+                                 order.getSide());
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int hash_orders(final Orders data) {
+        int hash = 0;
+        for (final Order order : data.orders) {
+            hash += order.hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int hash_compact_orders(final Orders data) {
+        int hash = 0;
+        for (final CompactOrder order : data.compactOrders) {
+            hash += order.hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int equals_orders(final Orders data) {
+        int equal = 0;
+        for (int i = 0; i < N; i++) {
+            if (data.orders.get(i).equals(data.orderCopies.get(i))) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int equals_compact_orders(final Orders data) {
+        int equal = 0;
+        for (int i = 0; i < N; i++) {
+            if (data.compactOrders.get(i).equals(data.compactOrderCopies.get(i))) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<Order> footprint_orders(final Footprint footprint) {
+        return measure(footprint, OrderEncodingBenchmarking::parsedOrder);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<Order> footprint_orders_interned(final Footprint footprint) {
+        final SymbolDictionary dictionary = SymbolDictionary.global();
+        return measure(footprint, i -> {
+            final Order order = parsedOrder(i);
+            return new Order(order.getOrderId(), dictionary.intern(order.getSymbol()), order.getPrice(),
+                             order.getQuantity(), order.getSide().intern());
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public List<CompactOrder> footprint_compact_orders(final Footprint footprint) {
+        return measure(footprint, i -> CompactOrder.of(parsedOrder(i)));
+    }
+
+    private <T> List<T> measure(final Footprint footprint, final IntFunction<T> factory) {
+        final long before = usedHeap();
+        final List<T> built = build(N, factory);
+        footprint.bytesPerOrder = (double) (usedHeap() - before) / N;
+        return built;
+    }
+
+    // symbols and sides are fresh Strings with their own backing arrays, as they would be when parsed from a
+    // feed or a file; new String(String) would share the original's byte[]
+    private static Order parsedOrder(final int i) {
+        final Random random = new Random(i);
+        return new Order(i,
+                         new String(SYMBOLS[random.nextInt(SYMBOLS.length)].toCharArray()),
+                         100D + random.nextInt(10_000) / 100D,
+                         1 + random.nextInt(2_000),
+                         new String(SIDES[random.nextInt(SIDES.length)].toCharArray()));
+    }
+
+    private static <T> List<T> build(final int n, final IntFunction<T> factory) {
+        final List<T> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(OrderEncodingBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
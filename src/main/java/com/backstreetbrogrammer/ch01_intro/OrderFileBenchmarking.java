@@ -0,0 +1,85 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OrderFileBenchmarking {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "META", "TSLA", "NVDA", "JPM"};
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    @Param({"10000000"})
+    private int N;
+
+    @Param({"1000"})
+    private int QTY;
+
+    private final ParallelStreamIntro intro = new ParallelStreamIntro();
+
+    private Path orderFile;
+
+    @Setup
+    public void setup() throws IOException {
+        final Random random = new Random(314159L);
+        final List<Order> orders = IntStream.range(0, N)
+                                            .mapToObj(i -> new Order(SYMBOLS[random.nextInt(SYMBOLS.length)],
+                                                                     100D + random.nextInt(10_000) / 100D,
+                                                                     1 + random.nextInt(2_000),
+                                                                     SIDES[random.nextInt(SIDES.length)]))
+                                            .collect(Collectors.toList());
+        orderFile = Files.createTempFile("orders", ".bin");
+        OrderFile.write(orderFile, orders);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(orderFile);
+    }
+
+    @Benchmark
+    public long load_array_list_then_count_parallel() throws IOException {
+        final List<Order> orders = OrderFile.readAll(orderFile);
+        return intro.usingReductionParallel(orders, QTY);
+    }
+
+    @Benchmark
+    public long map_then_count_sequential() throws IOException {
+        try (final OrderFile file = OrderFile.open(orderFile)) {
+            return file.countQuantityAtLeast(QTY, false);
+        }
+    }
+
+    @Benchmark
+    public long map_then_count_parallel() throws IOException {
+        try (final OrderFile file = OrderFile.open(orderFile)) {
+            return file.countQuantityAtLeast(QTY, true);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(OrderFileBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,75 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class OrderIdBenchmarking {
+
+    public enum Strategy {
+        // the static AtomicInteger Order used to increment for every order
+        ATOMIC_INTEGER,
+        ATOMIC_LONG,
+        BLOCKS,
+        TIMESTAMP_SEQUENCE
+    }
+
+    @Param({"ATOMIC_INTEGER", "ATOMIC_LONG", "BLOCKS", "TIMESTAMP_SEQUENCE"})
+    private Strategy STRATEGY;
+
+    private OrderIdGenerator generator;
+
+    @Setup
+    public void setup() {
+        switch (STRATEGY) {
+            case ATOMIC_INTEGER:
+                final AtomicInteger counter = new AtomicInteger(1);
+                generator = counter::getAndIncrement;
+                break;
+            case ATOMIC_LONG:
+                generator = OrderIdGenerator.atomic(1L);
+                break;
+            case BLOCKS:
+                generator = OrderIdGenerator.blocks(1L);
+                break;
+            case TIMESTAMP_SEQUENCE:
+                generator = OrderIdGenerator.timestampSequence();
+                break;
+            default:
+                throw new IllegalStateException(STRATEGY.name());
+        }
+    }
+
+    @Benchmark
+    public Order create_order() {
+        return new Order(generator, "AAPL", 123.45D, 100, "BUY");
+    }
+
+    // scaling curve: the same benchmark from 1 thread up to every available core
+    public static void main(final String[] args) throws RunnerException {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(cores, threads * 2)) {
+            final Options opt = new OptionsBuilder()
+                    .include(OrderIdBenchmarking.class.getName())
+                    .threads(threads)
+                    .build();
+            new Runner(opt).run();
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
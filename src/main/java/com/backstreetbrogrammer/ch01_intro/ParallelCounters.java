@@ -0,0 +1,157 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+public final class ParallelCounters {
+
+    private ParallelCounters() {
+    }
+
+    public enum Strategy {
+        ATOMIC {
+            @Override
+            public <T> long count(final Collection<T> items, final Predicate<? super T> filter) {
+                return countAtomic(items, filter);
+            }
+        },
+        LONG_ADDER {
+            @Override
+            public <T> long count(final Collection<T> items, final Predicate<? super T> filter) {
+                return countLongAdder(items, filter);
+            }
+        },
+        STRIPED {
+            @Override
+            public <T> long count(final Collection<T> items, final Predicate<? super T> filter) {
+                return countStriped(items, filter);
+            }
+        },
+        REDUCTION {
+            @Override
+            public <T> long count(final Collection<T> items, final Predicate<? super T> filter) {
+                return countReduction(items, filter);
+            }
+        },
+        COLLECTOR {
+            @Override
+            public <T> long count(final Collection<T> items, final Predicate<? super T> filter) {
+                return countCollector(items, filter);
+            }
+        };
+
+        public abstract <T> long count(Collection<T> items, Predicate<? super T> filter);
+    }
+
+    public static <T> long countAtomic(final Collection<T> items, final Predicate<? super T> filter) {
+        final AtomicLong counter = new AtomicLong();
+        items.parallelStream()
+             .forEach(item -> {
+                 if (filter.test(item)) {
+                     counter.getAndIncrement();
+                 }
+             });
+        return counter.get();
+    }
+
+    public static <T> long countLongAdder(final Collection<T> items, final Predicate<? super T> filter) {
+        final LongAdder counter = new LongAdder();
+        items.parallelStream()
+             .forEach(item -> {
+                 if (filter.test(item)) {
+                     counter.increment();
+                 }
+             });
+        return counter.sum();
+    }
+
+    public static <T> long countStriped(final Collection<T> items, final Predicate<? super T> filter) {
+        final StripedCounter counter = new StripedCounter();
+        items.parallelStream()
+             .forEach(item -> {
+                 if (filter.test(item)) {
+                     counter.increment();
+                 }
+             });
+        return counter.sum();
+    }
+
+    public static <T> long countReduction(final Collection<T> items, final Predicate<? super T> filter) {
+        return items.parallelStream()
+                    .filter(filter)
+                    .count();
+    }
+
+    public static <T> long countCollector(final Collection<T> items, final Predicate<? super T> filter) {
+        return items.parallelStream()
+                    .collect(countingIf(filter));
+    }
+
+    public static <T> Collector<T, long[], Long> countingIf(final Predicate<? super T> filter) {
+        return Collector.of(
+                () -> new long[1],
+                (count, item) -> {
+                    if (filter.test(item)) {
+                        count[0]++;
+                    }
+                },
+                (left, right) -> {
+                    left[0] += right[0];
+                    return left;
+                },
+                count -> count[0],
+                Collector.Characteristics.UNORDERED);
+    }
+
+    public static final class StripedCounter {
+
+        // 16 longs = 128 bytes between live cells, so two stripes never share a cache line
+        private static final int PADDING = 16;
+
+        private final AtomicLongArray cells;
+        private final int mask;
+
+        public StripedCounter() {
+            this(Runtime.getRuntime().availableProcessors());
+        }
+
+        public StripedCounter(final int stripes) {
+            if (stripes <= 0) {
+                throw new IllegalArgumentException("Illegal stripes: " + stripes);
+            }
+            final int size = Integer.highestOneBit(Math.max(1, stripes * 2 - 1));
+            this.mask = size - 1;
+            this.cells = new AtomicLongArray(size * PADDING);
+        }
+
+        public void increment() {
+            add(1L);
+        }
+
+        public void add(final long delta) {
+            cells.getAndAdd(index(), delta);
+        }
+
+        public long sum() {
+            long sum = 0L;
+            for (int i = 0; i < cells.length(); i += PADDING) {
+                sum += cells.get(i);
+            }
+            return sum;
+        }
+
+        public int stripes() {
+            return mask + 1;
+        }
+
+        private int index() {
+            final long id = Thread.currentThread().getId();
+            final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return ((h ^ (h >>> 16)) & mask) * PADDING;
+        }
+    }
+}
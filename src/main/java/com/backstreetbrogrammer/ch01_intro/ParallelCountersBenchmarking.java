@@ -0,0 +1,72 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import com.backstreetbrogrammer.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ParallelCountersBenchmarking {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "META", "TSLA", "NVDA", "JPM"};
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    @Param({"1000000", "10000000", "100000000"})
+    private int N;
+
+    @Param({"1", "2", "4", "8"})
+    private int THREADS;
+
+    @Param({"ATOMIC", "LONG_ADDER", "STRIPED", "REDUCTION", "COLLECTOR"})
+    private ParallelCounters.Strategy STRATEGY;
+
+    @Param({"1000"})
+    private int QTY;
+
+    private List<Order> orders;
+    private ForkJoinPool forkJoinPool;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(314159L);
+        orders = new ArrayList<>(N);
+        for (int i = 0; i < N; i++) {
+            orders.add(new Order(SYMBOLS[random.nextInt(SYMBOLS.length)],
+                                 100D + random.nextInt(10_000) / 100D,
+                                 1 + random.nextInt(2_000),
+                                 SIDES[random.nextInt(SIDES.length)]));
+        }
+        forkJoinPool = new ForkJoinPool(THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Benchmark
+    public long count_big_orders() {
+        return forkJoinPool.submit(() -> STRATEGY.count(orders, order -> order.getQuantity() >= QTY))
+                           .join();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ParallelCountersBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
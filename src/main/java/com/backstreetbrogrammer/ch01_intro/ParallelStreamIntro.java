@@ -1,6 +1,7 @@
 package com.backstreetbrogrammer.ch01_intro;
 
 import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderColumns;
 import com.backstreetbrogrammer.model.Student;
 
 import java.util.Collection;
@@ -68,4 +69,22 @@ public class ParallelStreamIntro {
               });
         return bigOrders.get();
     }
+
+    final long usingLongAdderParallel(final Collection<Order> orders, final int qty) {
+        return ParallelCounters.countLongAdder(orders, order -> order.getQuantity() >= qty);
+    }
+
+    final long usingReductionParallel(final Collection<Order> orders, final int qty) {
+        return orders.parallelStream()
+                     .filter(order -> order.getQuantity() >= qty)
+                     .count();
+    }
+
+    final long usingColumnsSequential(final OrderColumns orders, final int qty) {
+        return orders.countQuantityAtLeast(qty);
+    }
+
+    final long usingColumnsParallel(final OrderColumns orders, final int qty) {
+        return orders.countQuantityAtLeast(qty, true);
+    }
 }
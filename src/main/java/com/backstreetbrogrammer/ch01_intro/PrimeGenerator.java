@@ -0,0 +1,148 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Serves probable primes of one bit length from a bounded cache that background threads keep topped up;
+// batch requests take what is cached and generate the rest in parallel on a dedicated pool. Primes are meant
+// for key material, so candidates come from a SecureRandom; every refill thread, batch worker and caller
+// thread gets its own instance from the factory instead of contending on one shared generator.
+public class PrimeGenerator implements AutoCloseable {
+
+    private final int bitLength;
+    private final BlockingQueue<BigInteger> cache;
+    private final ExecutorService refillers;
+    private final ForkJoinPool batchPool;
+    private final ThreadLocal<SecureRandom> random;
+
+    // primes served from the cache vs generated inline because the cache was empty
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PrimeGenerator(final int bitLength, final int cacheCapacity) {
+        this(bitLength, cacheCapacity, 1, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PrimeGenerator(final int bitLength, final int cacheCapacity, final int refillThreads,
+                          final int batchParallelism) {
+        this(bitLength, cacheCapacity, refillThreads, batchParallelism, SecureRandom::new);
+    }
+
+    public PrimeGenerator(final int bitLength, final int cacheCapacity, final int refillThreads,
+                          final int batchParallelism, final Supplier<? extends SecureRandom> randomFactory) {
+        if (bitLength < 2) {
+            throw new IllegalArgumentException("Illegal bit length: " + bitLength);
+        }
+        if (refillThreads < 0) {
+            throw new IllegalArgumentException("Illegal refill threads: " + refillThreads);
+        }
+        this.bitLength = bitLength;
+        this.random = ThreadLocal.withInitial(randomFactory);
+        this.cache = new ArrayBlockingQueue<>(cacheCapacity);
+        this.batchPool = new ForkJoinPool(batchParallelism);
+
+        final AtomicInteger threadIndex = new AtomicInteger();
+        this.refillers = refillThreads == 0 ? null : Executors.newFixedThreadPool(refillThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "prime-refill-" + bitLength + "-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < refillThreads; i++) {
+            refillers.execute(this::refill);
+        }
+    }
+
+    public int getBitLength() {
+        return bitLength;
+    }
+
+    public int cached() {
+        return cache.size();
+    }
+
+    public BigInteger next() {
+        final BigInteger cached = cache.poll();
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return probablePrime();
+    }
+
+    public List<BigInteger> batch(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Illegal batch size: " + n);
+        }
+        final List<BigInteger> primes = new ArrayList<>(n);
+        cache.drainTo(primes, n);
+        final int missing = n - primes.size();
+        hits.add(primes.size());
+        misses.add(missing);
+        if (missing > 0) {
+            primes.addAll(batchPool.submit(() -> IntStream.range(0, missing)
+                                                          .parallel()
+                                                          .mapToObj(i -> probablePrime())
+                                                          .collect(Collectors.toList()))
+                                   .join());
+        }
+        return primes;
+    }
+
+    public double hitRatio() {
+        final long served = hits.sum();
+        final long total = served + misses.sum();
+        return total == 0L ? Double.NaN : (double) served / total;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    public boolean awaitCacheFull(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (cache.remainingCapacity() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (refillers != null) {
+            refillers.shutdownNow();
+        }
+        batchPool.shutdown();
+    }
+
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                cache.put(probablePrime());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BigInteger probablePrime() {
+        return BigInteger.probablePrime(bitLength, random.get());
+    }
+}
@@ -0,0 +1,133 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+@Warmup(iterations = 10, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PrimeGeneratorBenchmarking {
+
+    // cache-served benchmarks run a fixed number of calls per iteration that stays below CACHE_CAPACITY,
+    // so every call of an iteration is a cache hit; their SingleShotTime scores are per batch of calls
+    private static final int CACHE_CALLS_PER_ITERATION = 5_000;
+    // batch() calls take up to N (at most 100) primes each
+    private static final int CACHE_BATCHES_PER_ITERATION = CACHE_CALLS_PER_ITERATION / 100;
+
+    // same per-thread SecureRandom as PrimeGenerator, so inline and cached primes are comparable
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    @Param({"10", "100"})
+    private int N;
+
+    @Param({"64", "128"})
+    private int BIT_LENGTH;
+
+    @Param({"10000"})
+    private int CACHE_CAPACITY;
+
+    @Param({"1", "4"})
+    private int REFILL_THREADS;
+
+    private PrimeGenerator primeGenerator;
+
+    @Setup
+    public void setup() {
+        primeGenerator = new PrimeGenerator(BIT_LENGTH, CACHE_CAPACITY, REFILL_THREADS,
+                                            Runtime.getRuntime().availableProcessors());
+    }
+
+    // every iteration starts from a full cache, otherwise the first one drains it and the rest
+    // mostly time the inline fallback
+    @Setup(Level.Iteration)
+    public void refillCache() throws InterruptedException {
+        awaitFullCache();
+        primeGenerator.resetStats();
+    }
+
+    void awaitFullCache() throws InterruptedException {
+        if (!primeGenerator.awaitCacheFull(1L, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Cache not refilled within 1 minute");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRatio() {
+        System.out.printf("%nrefill threads=%d, cache hit ratio=%.3f%n", REFILL_THREADS, primeGenerator.hitRatio());
+    }
+
+    @TearDown
+    public void tearDown() {
+        primeGenerator.close();
+    }
+
+    BigInteger probablePrime() {
+        return BigInteger.probablePrime(BIT_LENGTH, RANDOM.get());
+    }
+
+    @Benchmark
+    public BigInteger single_prime_inline() {
+        return probablePrime();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = CACHE_CALLS_PER_ITERATION)
+    @Measurement(iterations = 20, batchSize = CACHE_CALLS_PER_ITERATION)
+    public BigInteger single_prime_generator() {
+        return primeGenerator.next();
+    }
+
+    // refilled before every call, so each sample is the latency of one cache hit
+    @State(Scope.Benchmark)
+    public static class FullCache {
+
+        @Setup(Level.Invocation)
+        public void refill(final PrimeGeneratorBenchmarking benchmark) throws InterruptedException {
+            benchmark.awaitFullCache();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public BigInteger single_prime_generator_sampled(final FullCache fullCache) {
+        return primeGenerator.next();
+    }
+
+    @Benchmark
+    public List<BigInteger> generate_N_primes_parallel() {
+        return IntStream.range(0, N)
+                        .parallel()
+                        .mapToObj(i -> probablePrime())
+                        .collect(toList());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = CACHE_BATCHES_PER_ITERATION)
+    @Measurement(iterations = 20, batchSize = CACHE_BATCHES_PER_ITERATION)
+    public List<BigInteger> generate_N_primes_generator() {
+        return primeGenerator.batch(N);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(PrimeGeneratorBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
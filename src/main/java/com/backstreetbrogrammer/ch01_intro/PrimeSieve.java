@@ -0,0 +1,184 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.LongStream;
+
+// Segmented Sieve of Eratosthenes over odd numbers only: each segment is a long[] bit set sized to stay in
+// L1/L2 cache, the base primes up to sqrt(hi) are shared read-only, and segments are sieved independently
+// by fork-join tasks.
+public class PrimeSieve {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 32 * 1024;
+
+    private static final int LEAF_SEGMENTS = 4;
+
+    private final int segmentBits;
+    private final ForkJoinPool pool;
+
+    public PrimeSieve() {
+        this(DEFAULT_SEGMENT_BYTES, ForkJoinPool.commonPool());
+    }
+
+    public PrimeSieve(final int segmentBytes, final ForkJoinPool pool) {
+        if (segmentBytes < Long.BYTES || segmentBytes % Long.BYTES != 0) {
+            throw new IllegalArgumentException("Illegal segment size: " + segmentBytes);
+        }
+        this.segmentBits = segmentBytes * Byte.SIZE;
+        this.pool = pool;
+    }
+
+    public long countPrimes(final long lo, final long hi) {
+        final Range range = range(lo, hi);
+        final long two = lo <= 2 && hi > 2 ? 1L : 0L;
+        if (range == null) {
+            return two;
+        }
+        return two + pool.invoke(new CountTask(range, 0L, range.segments));
+    }
+
+    // Lazy parallel stream of the primes in [lo, hi). Only countPrimes runs in the pool given to the
+    // constructor: a stream's segments run wherever its terminal operation is invoked, i.e. the common pool,
+    // or a custom pool when the terminal operation is called from inside pool.submit(...).
+    public LongStream primes(final long lo, final long hi) {
+        final Range range = range(lo, hi);
+        final LongStream two = lo <= 2 && hi > 2 ? LongStream.of(2L) : LongStream.empty();
+        if (range == null) {
+            return two;
+        }
+        return LongStream.concat(two,
+                                 LongStream.range(0L, range.segments)
+                                           .parallel()
+                                           .flatMap(segment -> Arrays.stream(range.primesOf(segment))));
+    }
+
+    // [lo, hi) restricted to odd numbers >= 3, or null when it holds none
+    private Range range(final long lo, final long hi) {
+        if (lo < 0 || hi < lo) {
+            throw new IllegalArgumentException("Illegal range: [" + lo + ", " + hi + ")");
+        }
+        final long first = Math.max(3L, lo | 1L);
+        if (first >= hi) {
+            return null;
+        }
+        return new Range(first, hi, segmentBits, basePrimes((long) Math.sqrt((double) hi) + 1));
+    }
+
+    static int[] basePrimes(final long limit) {
+        final int n = (int) Math.min(Integer.MAX_VALUE - 1, limit);
+        final boolean[] composite = new boolean[n + 1];
+        int count = 0;
+        final int[] primes = new int[n + 1];
+        for (int i = 3; i <= n; i += 2) {
+            if (!composite[i]) {
+                primes[count++] = i;
+                for (long m = (long) i * i; m <= n; m += 2L * i) {
+                    composite[(int) m] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    static final class Range {
+
+        private final long first;
+        private final long hi;
+        private final int segmentBits;
+        private final long segments;
+        private final int[] basePrimes;
+
+        Range(final long first, final long hi, final int segmentBits, final int[] basePrimes) {
+            this.first = first;
+            this.hi = hi;
+            this.segmentBits = segmentBits;
+            this.basePrimes = basePrimes;
+            final long odds = (hi - first + 1) >>> 1;
+            this.segments = (odds + segmentBits - 1) / segmentBits;
+        }
+
+        // bit i of the segment stands for segmentStart + 2i; set bits are composites
+        long[] sieve(final long segment, final long[] words) {
+            final long start = first + 2L * segment * segmentBits;
+            final long end = Math.min(hi, start + 2L * segmentBits);
+            Arrays.fill(words, 0L);
+            for (final int p : basePrimes) {
+                final long square = (long) p * p;
+                if (square >= end) {
+                    break;
+                }
+                long multiple = Math.max(square, ((start + p - 1) / p) * p);
+                if ((multiple & 1L) == 0) {
+                    multiple += p;
+                }
+                for (long index = (multiple - start) >>> 1, limit = (end - start + 1) >>> 1;
+                     index < limit; index += p) {
+                    words[(int) (index >>> 6)] |= 1L << index;
+                }
+            }
+            return words;
+        }
+
+        int bits(final long segment) {
+            final long start = first + 2L * segment * segmentBits;
+            final long end = Math.min(hi, start + 2L * segmentBits);
+            return (int) ((end - start + 1) >>> 1);
+        }
+
+        long count(final long segment, final long[] words) {
+            sieve(segment, words);
+            long composites = 0L;
+            for (final long word : words) {
+                composites += Long.bitCount(word);
+            }
+            return bits(segment) - composites;
+        }
+
+        long[] primesOf(final long segment) {
+            final long[] words = sieve(segment, new long[segmentBits >>> 6]);
+            final long start = first + 2L * segment * segmentBits;
+            final int bits = bits(segment);
+            final long[] primes = new long[bits];
+            int count = 0;
+            for (int i = 0; i < bits; i++) {
+                if ((words[i >>> 6] & (1L << i)) == 0) {
+                    primes[count++] = start + 2L * i;
+                }
+            }
+            return Arrays.copyOf(primes, count);
+        }
+    }
+
+    static final class CountTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Range range;
+        private final long from;
+        private final long to;
+
+        CountTask(final Range range, final long from, final long to) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= LEAF_SEGMENTS) {
+                final long[] words = new long[range.segmentBits >>> 6];
+                long count = 0L;
+                for (long segment = from; segment < to; segment++) {
+                    count += range.count(segment, words);
+                }
+                return count;
+            }
+            final long mid = (from + to) >>> 1;
+            final CountTask left = new CountTask(range, from, mid);
+            left.fork();
+            final long right = new CountTask(range, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
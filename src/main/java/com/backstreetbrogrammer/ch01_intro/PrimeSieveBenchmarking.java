@@ -0,0 +1,70 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimeSieveBenchmarking {
+
+    @State(Scope.Benchmark)
+    public static class Sieve {
+
+        @Param({"1000000", "100000000", "10000000000"})
+        long HI;
+
+        @Param({"32768"})
+        int SEGMENT_BYTES;
+
+        PrimeSieve primeSieve;
+
+        @Setup
+        public void setup() {
+            primeSieve = new PrimeSieve(SEGMENT_BYTES, ForkJoinPool.commonPool());
+        }
+    }
+
+    // the BigInteger baseline tests every number in [0, HI), so it only runs on the small ranges
+    @State(Scope.Benchmark)
+    public static class ProbablePrimeBaseline {
+
+        @Param({"1000000", "10000000"})
+        long BASELINE_HI;
+    }
+
+    @Benchmark
+    public long count_primes_probable_prime_parallel(final ProbablePrimeBaseline baseline) {
+        return LongStream.range(0L, baseline.BASELINE_HI)
+                         .parallel()
+                         .filter(n -> BigInteger.valueOf(n).isProbablePrime(20))
+                         .count();
+    }
+
+    @Benchmark
+    public long count_primes_sieve(final Sieve sieve) {
+        return sieve.primeSieve.countPrimes(0L, sieve.HI);
+    }
+
+    @Benchmark
+    public long sum_primes_sieve_stream(final Sieve sieve) {
+        return sieve.primeSieve.primes(0L, sieve.HI).sum();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(PrimeSieveBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
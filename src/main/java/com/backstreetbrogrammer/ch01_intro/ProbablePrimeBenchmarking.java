@@ -1,5 +1,6 @@
 package com.backstreetbrogrammer.ch01_intro;
 
+import com.backstreetbrogrammer.ch03_forkJoin.Slices;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -95,6 +96,12 @@ public class ProbablePrimeBenchmarking {
                         .collect(toList());
     }
 
+    @Benchmark
+    public List<BigInteger> generate_N_primes_parallel_bounded() {
+        return Slices.generate(() -> probablePrime(), N)
+                     .collect(toList());
+    }
+
     public static void main(final String[] args) throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(ProbablePrimeBenchmarking.class.getName())
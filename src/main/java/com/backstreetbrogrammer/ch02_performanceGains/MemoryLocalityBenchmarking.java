@@ -0,0 +1,229 @@
+package com.backstreetbrogrammer.ch02_performanceGains;
+
+import com.backstreetbrogrammer.benchmark.SecondaryResults;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.LinuxPerfNormProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Same summing pipeline as PointerChasingBenchmarking, but the number of elements is derived from a target
+// working set (4 KB .. 1 GB) so every layout is measured inside L1, L2, L3 and DRAM. main() prints the
+// time per element and the effective bandwidth of every layout and working set.
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx16g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MemoryLocalityBenchmarking {
+
+    public enum Layout {
+        INT_ARRAY(Integer.BYTES),
+        // reference + Integer object, with compressed oops
+        ARRAY_LIST(4 + 16),
+        SHUFFLED_ARRAY_LIST(4 + 16),
+        LINKED_LIST(24 + 16),
+        SHUFFLED_LINKED_LIST(24 + 16),
+        SCATTERED_LINKED_LIST(24 + 16);
+
+        private final int bytesPerElement;
+
+        Layout(final int bytesPerElement) {
+            this.bytesPerElement = bytesPerElement;
+        }
+
+        public int elementsFor(final long workingSetKb) {
+            return (int) Math.max(1L, workingSetKb * 1024L / bytesPerElement);
+        }
+    }
+
+    // caps the garbage interleaved into SCATTERED_LINKED_LIST so the 1 GB case still fits in the heap
+    private static final long MAX_SCATTER_NODES = 64L << 20;
+    private static final int MAX_SCATTER_GAP = 100;
+
+    @Param({"4", "32", "256", "1024", "8192", "32768", "262144", "1048576"})
+    private long WORKING_SET_KB;
+
+    @Param({"INT_ARRAY", "ARRAY_LIST", "SHUFFLED_ARRAY_LIST", "LINKED_LIST", "SHUFFLED_LINKED_LIST",
+            "SCATTERED_LINKED_LIST"})
+    private Layout LAYOUT;
+
+    private int[] array;
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        final int n = LAYOUT.elementsFor(WORKING_SET_KB);
+        array = null;
+        list = null;
+        switch (LAYOUT) {
+            case INT_ARRAY:
+                array = IntStream.range(0, n).map(i -> i * 3).toArray();
+                break;
+            case ARRAY_LIST:
+                list = boxed(n, new ArrayList<>(n));
+                break;
+            case SHUFFLED_ARRAY_LIST:
+                // Integer objects allocated in order, references visited in random order
+                list = boxed(n, new ArrayList<>(n));
+                Collections.shuffle(list, new Random(314159L));
+                break;
+            case LINKED_LIST:
+                list = boxed(n, new LinkedList<>());
+                break;
+            case SHUFFLED_LINKED_LIST:
+                final List<Integer> shuffled = boxed(n, new ArrayList<>(n));
+                Collections.shuffle(shuffled, new Random(314159L));
+                list = new LinkedList<>(shuffled);
+                break;
+            case SCATTERED_LINKED_LIST:
+                final int gap = (int) Math.max(1L, Math.min(MAX_SCATTER_GAP, MAX_SCATTER_NODES / n));
+                final LinkedList<Integer> scattered = new LinkedList<>();
+                for (int i = 1; i < n + 1; i++) {
+                    scattered.add(i * 3);
+                    for (int j = 0; j < gap; j++) {
+                        scattered.add(0);
+                    }
+                }
+                scattered.removeIf(i -> i == 0);
+                list = scattered;
+                break;
+            default:
+                throw new IllegalStateException(LAYOUT.name());
+        }
+    }
+
+    @Benchmark
+    public int sum_sequential() {
+        if (array != null) {
+            return Arrays.stream(array)
+                         .map(i -> i * 5)
+                         .sum();
+        }
+        return list.stream()
+                   .mapToInt(i -> i)
+                   .map(i -> i * 5)
+                   .sum();
+    }
+
+    @Benchmark
+    public int sum_parallel() {
+        if (array != null) {
+            return Arrays.stream(array)
+                         .parallel()
+                         .map(i -> i * 5)
+                         .sum();
+        }
+        return list.parallelStream()
+                   .mapToInt(i -> i)
+                   .map(i -> i * 5)
+                   .sum();
+    }
+
+    private static <C extends Collection<Integer>> C boxed(final int n, final C target) {
+        return IntStream.range(0, n)
+                        .map(i -> i * 3)
+                        .boxed()
+                        .collect(Collectors.toCollection(() -> target));
+    }
+
+    // args: "gc" adds -prof gc, "perfnorm" adds -prof perfnorm (Linux perf); any other arg narrows LAYOUT
+    public static void main(final String[] args) throws RunnerException {
+        final ChainedOptionsBuilder opt = new OptionsBuilder()
+                .include(MemoryLocalityBenchmarking.class.getName());
+        final List<String> layouts = new ArrayList<>();
+        for (final String arg : args) {
+            if ("gc".equals(arg)) {
+                opt.addProfiler(GCProfiler.class);
+            } else if ("perfnorm".equals(arg)) {
+                opt.addProfiler(LinuxPerfNormProfiler.class);
+            } else {
+                layouts.add(Layout.valueOf(arg).name());
+            }
+        }
+        if (!layouts.isEmpty()) {
+            opt.param("LAYOUT", layouts.toArray(new String[0]));
+        }
+        printTable(new Runner(opt.build()).run());
+    }
+
+    static void printTable(final Collection<RunResult> results) {
+        // layout -> working set -> benchmark -> result
+        final Map<Layout, Map<Long, Map<String, RunResult>>> table = new TreeMap<>();
+        for (final RunResult result : results) {
+            final BenchmarkParams params = result.getParams();
+            final String benchmark = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+            table.computeIfAbsent(Layout.valueOf(params.getParam("LAYOUT")), k -> new TreeMap<>())
+                 .computeIfAbsent(Long.parseLong(params.getParam("WORKING_SET_KB")), k -> new TreeMap<>())
+                 .put(benchmark, result);
+        }
+        System.out.printf(Locale.ROOT, "%n%-22s %12s %12s %14s %14s %12s %12s %14s%n", "Layout", "Working set",
+                          "Elements", "seq ns/elem", "par ns/elem", "seq GB/s", "par GB/s", "seq B/op alloc");
+        table.forEach((layout, sizes) -> sizes.forEach((kb, byBenchmark) -> {
+            final int elements = layout.elementsFor(kb);
+            final double bytes = (double) elements * layout.bytesPerElement;
+            final double sequentialNanos = nanos(byBenchmark.get("sum_sequential"));
+            final double parallelNanos = nanos(byBenchmark.get("sum_parallel"));
+            System.out.printf(Locale.ROOT, "%-22s %12s %12d %14.3f %14.3f %12.2f %12.2f %14s%n",
+                              layout, size(kb), elements,
+                              sequentialNanos / elements, parallelNanos / elements,
+                              bytes / sequentialNanos, bytes / parallelNanos,
+                              allocation(byBenchmark.get("sum_sequential")));
+        }));
+    }
+
+    // mean time of one operation in nanoseconds, NaN when the benchmark was not run
+    private static double nanos(final RunResult result) {
+        if (result == null) {
+            return Double.NaN;
+        }
+        final Result<?> primary = result.getPrimaryResult();
+        final String unit = primary.getScoreUnit();
+        final double score = primary.getScore();
+        if (unit.startsWith("ns")) {
+            return score;
+        }
+        if (unit.startsWith("us")) {
+            return score * 1e3;
+        }
+        if (unit.startsWith("ms")) {
+            return score * 1e6;
+        }
+        return score * 1e9;
+    }
+
+    private static String allocation(final RunResult result) {
+        if (result == null) {
+            return "-";
+        }
+        final double bytesPerOp = SecondaryResults.score(result, "gc.alloc.rate.norm");
+        return Double.isNaN(bytesPerOp) ? "-" : String.format(Locale.ROOT, "%.0f", bytesPerOp);
+    }
+
+    private static String size(final long kb) {
+        if (kb >= 1024L * 1024L) {
+            return (kb / (1024L * 1024L)) + " GB";
+        }
+        return kb >= 1024L ? (kb / 1024L) + " MB" : kb + " KB";
+    }
+}
@@ -1,5 +1,7 @@
 package com.backstreetbrogrammer.ch02_performanceGains;
 
+import com.backstreetbrogrammer.ch04_bestPractices.ChunkedIntList;
+import com.backstreetbrogrammer.ch04_bestPractices.ChunkedList;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -29,6 +31,8 @@ public class PointerChasingBenchmarking {
     private LinkedList<Integer> linkedList = new LinkedList<>();
     private LinkedList<Integer> shuffledLinkedList = new LinkedList<>();
     private LinkedList<Integer> scatteredLinkedList = new LinkedList<>();
+    private ChunkedList<Integer> chunkedList = new ChunkedList<>();
+    private ChunkedIntList chunkedIntList = new ChunkedIntList();
 
     @Setup
     public void createArrayList() {
@@ -67,6 +71,16 @@ public class PointerChasingBenchmarking {
         scatteredLinkedList.removeIf(i -> i == 0);
     }
 
+    @Setup
+    public void createChunkedLists() {
+        chunkedList = new ChunkedList<>();
+        chunkedIntList = new ChunkedIntList();
+        for (int i = 0; i < N; i++) {
+            chunkedList.add(i * 3);
+            chunkedIntList.add(i * 3);
+        }
+    }
+
     @Benchmark
     public int calculate_sum_of_range() {
         return IntStream.range(0, N)
@@ -116,6 +130,52 @@ public class PointerChasingBenchmarking {
                                   .sum();
     }
 
+    @Benchmark
+    public int calculate_sum_of_chunked_list() {
+        return chunkedList.stream()
+                          .mapToInt(i -> i)
+                          .map(i -> i * 5)
+                          .sum();
+    }
+
+    @Benchmark
+    public int calculate_sum_of_chunked_int_list() {
+        return chunkedIntList.stream()
+                             .map(i -> i * 5)
+                             .sum();
+    }
+
+    @Benchmark
+    public int calculate_sum_of_array_list_parallel() {
+        return arrayList.parallelStream()
+                        .mapToInt(i -> i)
+                        .map(i -> i * 5)
+                        .sum();
+    }
+
+    @Benchmark
+    public int calculate_sum_of_linked_list_parallel() {
+        return linkedList.parallelStream()
+                         .mapToInt(i -> i)
+                         .map(i -> i * 5)
+                         .sum();
+    }
+
+    @Benchmark
+    public int calculate_sum_of_chunked_list_parallel() {
+        return chunkedList.parallelStream()
+                          .mapToInt(i -> i)
+                          .map(i -> i * 5)
+                          .sum();
+    }
+
+    @Benchmark
+    public int calculate_sum_of_chunked_int_list_parallel() {
+        return chunkedIntList.parallelStream()
+                             .map(i -> i * 5)
+                             .sum();
+    }
+
     public static void main(final String[] args) throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(PointerChasingBenchmarking.class.getName())
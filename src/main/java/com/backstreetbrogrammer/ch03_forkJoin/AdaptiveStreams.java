@@ -0,0 +1,229 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+// Decides per invocation whether a pipeline runs sequentially or in parallel, using the NQ model:
+// go parallel only when N (source size) * Q (learned sequential cost per element) is big enough to pay for the
+// fork-join overhead, and the pool has idle workers to give. Each mode keeps its own learned wall time per
+// element; once both are known the faster one wins, and every k-th call runs the other mode so that a wrong
+// choice, e.g. a pipeline that turned out slower in parallel, gets corrected.
+public class AdaptiveStreams {
+
+    public static final long DEFAULT_PARALLEL_THRESHOLD_NANOS = 100_000L;
+    public static final double DEFAULT_NANOS_PER_ELEMENT = 1.0D;
+    public static final int DEFAULT_EXPLORE_EVERY = 8;
+
+    private static final double SMOOTHING = 0.2D;
+    private static final int MAX_DECISIONS = 1024;
+
+    private final ForkJoinPool pool;
+    private final long parallelThresholdNanos;
+    private final double defaultNanosPerElement;
+    private final int exploreEvery;
+
+    private final Map<String, Costs> costs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Decision> decisions = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger decisionCount = new AtomicInteger();
+
+    public AdaptiveStreams() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD_NANOS, DEFAULT_NANOS_PER_ELEMENT);
+    }
+
+    public AdaptiveStreams(final ForkJoinPool pool, final long parallelThresholdNanos,
+                           final double defaultNanosPerElement) {
+        this(pool, parallelThresholdNanos, defaultNanosPerElement, DEFAULT_EXPLORE_EVERY);
+    }
+
+    public AdaptiveStreams(final ForkJoinPool pool, final long parallelThresholdNanos,
+                           final double defaultNanosPerElement, final int exploreEvery) {
+        if (parallelThresholdNanos < 0) {
+            throw new IllegalArgumentException("Illegal threshold: " + parallelThresholdNanos);
+        }
+        if (!(defaultNanosPerElement > 0D)) {
+            throw new IllegalArgumentException("Illegal cost per element: " + defaultNanosPerElement);
+        }
+        if (exploreEvery < 2) {
+            throw new IllegalArgumentException("Illegal exploration interval: " + exploreEvery);
+        }
+        this.pool = pool;
+        this.parallelThresholdNanos = parallelThresholdNanos;
+        this.defaultNanosPerElement = defaultNanosPerElement;
+        this.exploreEvery = exploreEvery;
+    }
+
+    public <T, R> R evaluate(final String pipeline, final Collection<T> source,
+                             final Function<? super Stream<T>, R> terminal) {
+        return evaluate(pipeline, source.size(), source.stream(), terminal);
+    }
+
+    public <S extends BaseStream<?, S>, R> R evaluate(final String pipeline, final long size, final S stream,
+                                                      final Function<? super S, R> terminal) {
+        final Costs learned = costs.computeIfAbsent(pipeline, key -> new Costs());
+        final long call = learned.calls.incrementAndGet();
+        final double sequentialCost = learned.sequential;
+        final double parallelCost = learned.parallel;
+        final double estimatedNanos = size * (Double.isNaN(sequentialCost) ? defaultNanosPerElement : sequentialCost);
+        final boolean measuredBoth = !Double.isNaN(sequentialCost) && !Double.isNaN(parallelCost);
+        final boolean preferParallel = !measuredBoth || parallelCost < sequentialCost;
+
+        final String reason;
+        final boolean parallel;
+        if (pool.getParallelism() < 2) {
+            parallel = false;
+            reason = "single-worker pool";
+        } else if (estimatedNanos < parallelThresholdNanos) {
+            parallel = false;
+            reason = "N*Q below threshold";
+        } else if (isSaturated()) {
+            parallel = false;
+            reason = "pool saturated";
+        } else if (call % exploreEvery == 0) {
+            parallel = !preferParallel;
+            reason = parallel ? "exploring parallel" : "exploring sequential";
+        } else if (measuredBoth) {
+            parallel = preferParallel;
+            reason = parallel ? "parallel measured faster" : "sequential measured faster";
+        } else {
+            parallel = true;
+            reason = "N*Q above threshold";
+        }
+
+        final long start = System.nanoTime();
+        final R result;
+        if (!parallel) {
+            result = terminal.apply(stream.sequential());
+        } else if (pool == ForkJoinPool.commonPool() || ForkJoinTask.getPool() == pool) {
+            result = terminal.apply(stream.parallel());
+        } else {
+            result = pool.submit(() -> terminal.apply(stream.parallel())).join();
+        }
+        final long elapsedNanos = System.nanoTime() - start;
+
+        learned.learn(size, parallel, elapsedNanos);
+        record(new Decision(pipeline, size, estimatedNanos, parallel, reason, elapsedNanos));
+        return result;
+    }
+
+    // learned sequential cost per element, the Q of the NQ model
+    public double nanosPerElement(final String pipeline) {
+        final Costs learned = costs.get(pipeline);
+        return learned == null || Double.isNaN(learned.sequential) ? defaultNanosPerElement : learned.sequential;
+    }
+
+    // learned parallel wall time per element, NaN until the pipeline has run in parallel
+    public double parallelNanosPerElement(final String pipeline) {
+        final Costs learned = costs.get(pipeline);
+        return learned == null ? Double.NaN : learned.parallel;
+    }
+
+    public List<Decision> decisions() {
+        return new ArrayList<>(decisions);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    private boolean isSaturated() {
+        return pool.getActiveThreadCount() >= pool.getParallelism() && pool.hasQueuedSubmissions();
+    }
+
+    private void record(final Decision decision) {
+        decisions.addLast(decision);
+        if (decisionCount.incrementAndGet() > MAX_DECISIONS && decisions.pollFirst() != null) {
+            decisionCount.decrementAndGet();
+        }
+    }
+
+    // wall time per element of each mode, NaN until that mode has been measured
+    static final class Costs {
+
+        final AtomicLong calls = new AtomicLong();
+        volatile double sequential = Double.NaN;
+        volatile double parallel = Double.NaN;
+
+        synchronized void learn(final long size, final boolean parallelRun, final long elapsedNanos) {
+            if (size <= 0) {
+                return;
+            }
+            final double observed = (double) elapsedNanos / size;
+            if (parallelRun) {
+                parallel = smooth(parallel, observed);
+            } else {
+                sequential = smooth(sequential, observed);
+            }
+        }
+
+        private static double smooth(final double previous, final double latest) {
+            return Double.isNaN(previous) ? latest : previous + SMOOTHING * (latest - previous);
+        }
+    }
+
+    public static final class Decision {
+
+        private final String pipeline;
+        private final long size;
+        private final double estimatedNanos;
+        private final boolean parallel;
+        private final String reason;
+        private final long elapsedNanos;
+
+        Decision(final String pipeline, final long size, final double estimatedNanos, final boolean parallel,
+                 final String reason, final long elapsedNanos) {
+            this.pipeline = pipeline;
+            this.size = size;
+            this.estimatedNanos = estimatedNanos;
+            this.parallel = parallel;
+            this.reason = reason;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getPipeline() {
+            return pipeline;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public double getEstimatedNanos() {
+            return estimatedNanos;
+        }
+
+        public boolean isParallel() {
+            return parallel;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Decision{" +
+                    "pipeline='" + pipeline + '\'' +
+                    ", size=" + size +
+                    ", estimatedNanos=" + estimatedNanos +
+                    ", parallel=" + parallel +
+                    ", reason='" + reason + '\'' +
+                    ", elapsedNanos=" + elapsedNanos +
+                    '}';
+        }
+    }
+}
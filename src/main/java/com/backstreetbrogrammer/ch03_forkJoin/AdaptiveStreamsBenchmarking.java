@@ -0,0 +1,70 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class AdaptiveStreamsBenchmarking {
+
+    private final Random random = ThreadLocalRandom.current();
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int N;
+
+    private int[] ints;
+    private AdaptiveStreams adaptiveStreams;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, N)
+                        .map(index -> random.nextInt(100))
+                        .toArray();
+        adaptiveStreams = new AdaptiveStreams();
+    }
+
+    @TearDown
+    public void printDecisions() {
+        final long parallel = adaptiveStreams.decisions()
+                                             .stream()
+                                             .filter(AdaptiveStreams.Decision::isParallel)
+                                             .count();
+        System.out.printf("%nN=%d, learned ns/element=%.3f, parallel decisions=%d of last %d%n",
+                          N, adaptiveStreams.nanosPerElement("sum"), parallel, adaptiveStreams.decisions().size());
+    }
+
+    @Benchmark
+    public long sum_no_parallel() {
+        return Arrays.stream(ints).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long sum_parallel() {
+        return Arrays.stream(ints).parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public long sum_adaptive() {
+        return adaptiveStreams.evaluate("sum", ints.length, Arrays.stream(ints), s -> s.asLongStream().sum());
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(AdaptiveStreamsBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,252 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import com.backstreetbrogrammer.model.OrderColumns;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+
+// Two-pass blocked prefix sums: pass one sums every block in parallel, a short sequential scan turns the
+// block sums into block offsets, and pass two rescans every block in parallel starting from its offset.
+public final class ParallelScan {
+
+    private static final int MIN_BLOCK = 1 << 14;
+    private static final int BLOCKS_PER_WORKER = 4;
+
+    private ParallelScan() {
+    }
+
+    public static int[] inclusive(final int[] values) {
+        final int[] out = new int[values.length];
+        scan(values, out, true);
+        return out;
+    }
+
+    public static int[] exclusive(final int[] values) {
+        final int[] out = new int[values.length];
+        scan(values, out, false);
+        return out;
+    }
+
+    public static long[] inclusive(final long[] values) {
+        return inclusiveLong(values.length, i -> values[i]);
+    }
+
+    public static long[] exclusive(final long[] values) {
+        return exclusiveLong(values.length, i -> values[i]);
+    }
+
+    public static double[] inclusive(final double[] values) {
+        return inclusiveDouble(values.length, i -> values[i]);
+    }
+
+    public static double[] exclusive(final double[] values) {
+        return exclusiveDouble(values.length, i -> values[i]);
+    }
+
+    public static long[] inclusiveLong(final int n, final IntToLongFunction element) {
+        final long[] out = new long[n];
+        scan(n, element, out, true);
+        return out;
+    }
+
+    public static long[] exclusiveLong(final int n, final IntToLongFunction element) {
+        final long[] out = new long[n];
+        scan(n, element, out, false);
+        return out;
+    }
+
+    public static double[] inclusiveDouble(final int n, final IntToDoubleFunction element) {
+        final double[] out = new double[n];
+        scan(n, element, out, true);
+        return out;
+    }
+
+    public static double[] exclusiveDouble(final int n, final IntToDoubleFunction element) {
+        final double[] out = new double[n];
+        scan(n, element, out, false);
+        return out;
+    }
+
+    public static long[] cumulativeQuantity(final OrderColumns orders) {
+        return inclusiveLong(orders.size(), orders::getQuantity);
+    }
+
+    public static long[] runningPosition(final OrderColumns orders) {
+        return inclusiveLong(orders.size(), row -> orders.getSide(row) == OrderColumns.BUY
+                ? orders.getQuantity(row)
+                : -orders.getQuantity(row));
+    }
+
+    public static double[] cumulativeNotional(final OrderColumns orders) {
+        return inclusiveDouble(orders.size(), row -> orders.getPrice(row) * orders.getQuantity(row));
+    }
+
+    // VWAP of orders [0, i] for every i: cumulative notional / cumulative quantity
+    public static double[] cumulativeVwap(final OrderColumns orders) {
+        final long[] quantity = cumulativeQuantity(orders);
+        final double[] vwap = cumulativeNotional(orders);
+        final int blockSize = blockSize(vwap.length);
+        forEachBlock(blocks(vwap.length, blockSize), block -> {
+            for (int i = block * blockSize, to = Math.min(vwap.length, i + blockSize); i < to; i++) {
+                vwap[i] = quantity[i] == 0 ? Double.NaN : vwap[i] / quantity[i];
+            }
+        });
+        return vwap;
+    }
+
+    // int sums wrap on overflow, exactly like Arrays.parallelPrefix(int[], Integer::sum)
+    private static void scan(final int[] values, final int[] out, final boolean inclusive) {
+        final int n = values.length;
+        final int blockSize = blockSize(n);
+        final int blocks = blocks(n, blockSize);
+        final int[] offsets = new int[blocks];
+
+        forEachBlock(blocks, block -> {
+            int sum = 0;
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                sum += values[i];
+            }
+            offsets[block] = sum;
+        });
+        int running = 0;
+        for (int block = 0; block < blocks; block++) {
+            final int sum = offsets[block];
+            offsets[block] = running;
+            running += sum;
+        }
+        forEachBlock(blocks, block -> {
+            int sum = offsets[block];
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                if (inclusive) {
+                    sum += values[i];
+                    out[i] = sum;
+                } else {
+                    out[i] = sum;
+                    sum += values[i];
+                }
+            }
+        });
+    }
+
+    private static void scan(final int n, final IntToLongFunction element, final long[] out,
+                             final boolean inclusive) {
+        final int blockSize = blockSize(n);
+        final int blocks = blocks(n, blockSize);
+        final long[] offsets = new long[blocks];
+
+        forEachBlock(blocks, block -> {
+            long sum = 0L;
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                sum += element.applyAsLong(i);
+            }
+            offsets[block] = sum;
+        });
+        long running = 0L;
+        for (int block = 0; block < blocks; block++) {
+            final long sum = offsets[block];
+            offsets[block] = running;
+            running += sum;
+        }
+        forEachBlock(blocks, block -> {
+            long sum = offsets[block];
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                final long value = element.applyAsLong(i);
+                if (inclusive) {
+                    sum += value;
+                    out[i] = sum;
+                } else {
+                    out[i] = sum;
+                    sum += value;
+                }
+            }
+        });
+    }
+
+    private static void scan(final int n, final IntToDoubleFunction element, final double[] out,
+                             final boolean inclusive) {
+        final int blockSize = blockSize(n);
+        final int blocks = blocks(n, blockSize);
+        final double[] offsets = new double[blocks];
+
+        forEachBlock(blocks, block -> {
+            double sum = 0D;
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                sum += element.applyAsDouble(i);
+            }
+            offsets[block] = sum;
+        });
+        double running = 0D;
+        for (int block = 0; block < blocks; block++) {
+            final double sum = offsets[block];
+            offsets[block] = running;
+            running += sum;
+        }
+        forEachBlock(blocks, block -> {
+            double sum = offsets[block];
+            for (int i = block * blockSize, to = Math.min(n, i + blockSize); i < to; i++) {
+                final double value = element.applyAsDouble(i);
+                if (inclusive) {
+                    sum += value;
+                    out[i] = sum;
+                } else {
+                    out[i] = sum;
+                    sum += value;
+                }
+            }
+        });
+    }
+
+    private static int blockSize(final int n) {
+        final int workers = ForkJoinPool.getCommonPoolParallelism() * BLOCKS_PER_WORKER;
+        return Math.max(MIN_BLOCK, (n + workers - 1) / workers);
+    }
+
+    private static int blocks(final int n, final int blockSize) {
+        return (int) (((long) n + blockSize - 1) / blockSize);
+    }
+
+    // runs in the caller's pool when invoked from a fork-join worker, otherwise in the common pool
+    private static void forEachBlock(final int blocks, final IntConsumer body) {
+        if (blocks <= 1) {
+            if (blocks == 1) {
+                body.accept(0);
+            }
+            return;
+        }
+        final BlockTask task = new BlockTask(0, blocks, body);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    static final class BlockTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        BlockTask(final int from, final int to, final IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new BlockTask(from, mid, body), new BlockTask(mid, to, body));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import com.backstreetbrogrammer.model.OrderColumns;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ParallelScanBenchmarking {
+
+    @Param({"100000", "1000000", "10000000"})
+    private int N;
+
+    private long[] quantities;
+    private OrderColumns orders;
+
+    @Setup
+    public void setup() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        quantities = new long[N];
+        orders = new OrderColumns(N);
+        final String[] symbols = {"AAPL", "MSFT", "GOOG", "AMZN"};
+        for (int i = 0; i < N; i++) {
+            final int quantity = random.nextInt(1, 1_000);
+            quantities[i] = quantity;
+            orders.add(i, symbols[i & 3], random.nextDouble(100D, 200D), quantity, (i & 1) == 0 ? "BUY" : "SELL");
+        }
+    }
+
+    @Benchmark
+    public long[] prefix_sum_sequential_loop() {
+        final long[] out = new long[N];
+        long sum = 0L;
+        for (int i = 0; i < N; i++) {
+            sum += quantities[i];
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    @Benchmark
+    public long[] prefix_sum_arrays_parallel_prefix() {
+        final long[] out = quantities.clone();
+        Arrays.parallelPrefix(out, Long::sum);
+        return out;
+    }
+
+    @Benchmark
+    public long[] prefix_sum_parallel_scan() {
+        return ParallelScan.inclusive(quantities);
+    }
+
+    @Benchmark
+    public double[] vwap_sequential_loop() {
+        final double[] out = new double[N];
+        double notional = 0D;
+        long quantity = 0L;
+        for (int row = 0; row < N; row++) {
+            notional += orders.getPrice(row) * orders.getQuantity(row);
+            quantity += orders.getQuantity(row);
+            out[row] = notional / quantity;
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] vwap_parallel_scan() {
+        return ParallelScan.cumulativeVwap(orders);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ParallelScanBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -59,6 +59,21 @@ public class ParallelSumLimitBenchmarking {
         return intsN150.stream().mapToInt(i -> i).parallel().limit(N).sum();
     }
 
+    @Benchmark
+    public double sum_slice_parallel() {
+        return Slices.slice(intsN150, 0, N).mapToInt(i -> i).sum();
+    }
+
+    @Benchmark
+    public double sum_skip_limit_parallel() {
+        return intsN150.stream().mapToInt(i -> i).parallel().skip(N / 4).limit(N).sum();
+    }
+
+    @Benchmark
+    public double sum_skip_slice_parallel() {
+        return Slices.slice(intsN150, N / 4, N).mapToInt(i -> i).sum();
+    }
+
     public static void main(final String[] args) throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(ParallelSumLimitBenchmarking.class.getName())
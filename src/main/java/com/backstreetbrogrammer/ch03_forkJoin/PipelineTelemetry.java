@@ -0,0 +1,360 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Instruments the source spliterator of a parallel pipeline instead of peek()-ing every element into a shared map:
+// each leaf task adds its element count, size, split depth and busy time to plain fields of a per-worker
+// record once it finishes, and the records are only read after the pipeline has been joined.
+public final class PipelineTelemetry {
+
+    private static final int MAX_DEPTH = 64;
+
+    private PipelineTelemetry() {
+    }
+
+    public static <T, R> Result<R> run(final ForkJoinPool pool, final Spliterator<T> source,
+                                       final Function<? super Stream<T>, R> pipeline) {
+        final Recorder recorder = new Recorder();
+        return recorder.run(pool, () -> pipeline.apply(
+                StreamSupport.stream(new TelemetrySpliterator<>(source, recorder, 0), true)));
+    }
+
+    public static <R> Result<R> runInt(final ForkJoinPool pool, final Spliterator.OfInt source,
+                                       final Function<? super IntStream, R> pipeline) {
+        final Recorder recorder = new Recorder();
+        return recorder.run(pool, () -> pipeline.apply(
+                StreamSupport.intStream(new IntTelemetrySpliterator(source, recorder, 0), true)));
+    }
+
+    public static final class Result<R> {
+
+        private final R value;
+        private final Summary summary;
+
+        Result(final R value, final Summary summary) {
+            this.value = value;
+            this.summary = summary;
+        }
+
+        public R getValue() {
+            return value;
+        }
+
+        public Summary getSummary() {
+            return summary;
+        }
+    }
+
+    public static final class Summary {
+
+        private final Map<String, Long> elementsPerWorker;
+        private final Map<String, Long> leafTasksPerWorker;
+        private final long steals;
+        private final int maxSplitDepth;
+        private final long leafTasks;
+        private final long minLeafSize;
+        private final long maxLeafSize;
+        private final long elements;
+        private final long wallNanos;
+        private final long busyNanos;
+        private final long idleNanos;
+
+        Summary(final Map<String, Long> elementsPerWorker, final Map<String, Long> leafTasksPerWorker,
+                final long steals, final int maxSplitDepth, final long leafTasks, final long minLeafSize,
+                final long maxLeafSize, final long elements, final long wallNanos, final long busyNanos,
+                final long idleNanos) {
+            this.elementsPerWorker = Collections.unmodifiableMap(elementsPerWorker);
+            this.leafTasksPerWorker = Collections.unmodifiableMap(leafTasksPerWorker);
+            this.steals = steals;
+            this.maxSplitDepth = maxSplitDepth;
+            this.leafTasks = leafTasks;
+            this.minLeafSize = minLeafSize;
+            this.maxLeafSize = maxLeafSize;
+            this.elements = elements;
+            this.wallNanos = wallNanos;
+            this.busyNanos = busyNanos;
+            this.idleNanos = idleNanos;
+        }
+
+        public Map<String, Long> getElementsPerWorker() {
+            return elementsPerWorker;
+        }
+
+        public Map<String, Long> getLeafTasksPerWorker() {
+            return leafTasksPerWorker;
+        }
+
+        public long getSteals() {
+            return steals;
+        }
+
+        public int getMaxSplitDepth() {
+            return maxSplitDepth;
+        }
+
+        public long getLeafTasks() {
+            return leafTasks;
+        }
+
+        public long getMinLeafSize() {
+            return minLeafSize;
+        }
+
+        public long getMaxLeafSize() {
+            return maxLeafSize;
+        }
+
+        public double getAverageLeafSize() {
+            return leafTasks == 0 ? 0D : (double) elements / leafTasks;
+        }
+
+        public long getElements() {
+            return elements;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        public long getIdleNanos() {
+            return idleNanos;
+        }
+
+        // busiest worker's share relative to a perfectly even split: 1.0 means balanced
+        public double getImbalance() {
+            if (elementsPerWorker.isEmpty() || elements == 0) {
+                return 0D;
+            }
+            final long max = Collections.max(elementsPerWorker.values());
+            return (double) max * elementsPerWorker.size() / elements;
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{" +
+                    "elementsPerWorker=" + elementsPerWorker +
+                    ", leafTasksPerWorker=" + leafTasksPerWorker +
+                    ", steals=" + steals +
+                    ", maxSplitDepth=" + maxSplitDepth +
+                    ", leafTasks=" + leafTasks +
+                    ", minLeafSize=" + minLeafSize +
+                    ", maxLeafSize=" + maxLeafSize +
+                    ", elements=" + elements +
+                    ", wallNanos=" + wallNanos +
+                    ", busyNanos=" + busyNanos +
+                    ", idleNanos=" + idleNanos +
+                    '}';
+        }
+    }
+
+    static final class WorkerStats {
+
+        final Thread thread = Thread.currentThread();
+        long elements;
+        long leafTasks;
+        long minLeafSize = Long.MAX_VALUE;
+        long maxLeafSize;
+        long busyNanos;
+        int maxDepth;
+
+        void leaf(final long size, final int depth, final long nanos) {
+            elements += size;
+            leafTasks++;
+            minLeafSize = Math.min(minLeafSize, size);
+            maxLeafSize = Math.max(maxLeafSize, size);
+            busyNanos += nanos;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        // single elements pulled by short-circuiting pipelines count as work but not as leaf tasks
+        void element(final int depth, final long nanos) {
+            elements++;
+            busyNanos += nanos;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+    }
+
+    static final class Recorder {
+
+        private final Map<Thread, WorkerStats> workers = new ConcurrentHashMap<>();
+        private final ThreadLocal<WorkerStats> local = ThreadLocal.withInitial(() -> {
+            final WorkerStats stats = new WorkerStats();
+            workers.put(stats.thread, stats);
+            return stats;
+        });
+
+        WorkerStats stats() {
+            return local.get();
+        }
+
+        <R> Result<R> run(final ForkJoinPool pool, final Supplier<R> pipeline) {
+            final long stealsBefore = pool.getStealCount();
+            final long start = System.nanoTime();
+            final R value = ForkJoinTask.getPool() == pool
+                    ? pipeline.get()
+                    : pool.invoke(ForkJoinTask.adapt(pipeline::get));
+            final long wallNanos = System.nanoTime() - start;
+            final long steals = pool.getStealCount() - stealsBefore;
+            return new Result<>(value, summarize(pool, steals, wallNanos));
+        }
+
+        private Summary summarize(final ForkJoinPool pool, final long steals, final long wallNanos) {
+            final Map<String, Long> elementsPerWorker = new LinkedHashMap<>();
+            final Map<String, Long> leafTasksPerWorker = new LinkedHashMap<>();
+            long elements = 0L;
+            long leafTasks = 0L;
+            long minLeafSize = Long.MAX_VALUE;
+            long maxLeafSize = 0L;
+            long busyNanos = 0L;
+            int maxDepth = 0;
+            for (final WorkerStats stats : workers.values()) {
+                elementsPerWorker.merge(stats.thread.getName(), stats.elements, Long::sum);
+                leafTasksPerWorker.merge(stats.thread.getName(), stats.leafTasks, Long::sum);
+                elements += stats.elements;
+                leafTasks += stats.leafTasks;
+                minLeafSize = Math.min(minLeafSize, stats.minLeafSize);
+                maxLeafSize = Math.max(maxLeafSize, stats.maxLeafSize);
+                busyNanos += stats.busyNanos;
+                maxDepth = Math.max(maxDepth, stats.maxDepth);
+            }
+            final long idleNanos = Math.max(0L, wallNanos * pool.getParallelism() - busyNanos);
+            return new Summary(elementsPerWorker, leafTasksPerWorker, steals, maxDepth, leafTasks,
+                               leafTasks == 0 ? 0L : minLeafSize, maxLeafSize, elements, wallNanos, busyNanos,
+                               idleNanos);
+        }
+    }
+
+    static class TelemetrySpliterator<T> implements Spliterator<T> {
+
+        final Spliterator<T> source;
+        final Recorder recorder;
+        final int depth;
+
+        TelemetrySpliterator(final Spliterator<T> source, final Recorder recorder, final int depth) {
+            this.source = source;
+            this.recorder = recorder;
+            this.depth = Math.min(depth, MAX_DEPTH);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> prefix = source.trySplit();
+            return prefix == null ? null : new TelemetrySpliterator<>(prefix, recorder, depth + 1);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final long start = System.nanoTime();
+            final boolean advanced = source.tryAdvance(action);
+            if (advanced) {
+                recorder.stats().element(depth, System.nanoTime() - start);
+            }
+            return advanced;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            final long size = source.getExactSizeIfKnown();
+            final long start = System.nanoTime();
+            if (size >= 0) {
+                source.forEachRemaining(action);
+                recorder.stats().leaf(size, depth, System.nanoTime() - start);
+            } else {
+                final long[] count = new long[1];
+                source.forEachRemaining(t -> {
+                    count[0]++;
+                    action.accept(t);
+                });
+                recorder.stats().leaf(count[0], depth, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return source.getComparator();
+        }
+    }
+
+    static final class IntTelemetrySpliterator extends TelemetrySpliterator<Integer> implements Spliterator.OfInt {
+
+        IntTelemetrySpliterator(final Spliterator.OfInt source, final Recorder recorder, final int depth) {
+            super(source, recorder, depth);
+        }
+
+        @Override
+        public OfInt trySplit() {
+            final OfInt prefix = ((OfInt) source).trySplit();
+            return prefix == null ? null : new IntTelemetrySpliterator(prefix, recorder, depth + 1);
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            final long start = System.nanoTime();
+            final boolean advanced = ((OfInt) source).tryAdvance(action);
+            if (advanced) {
+                recorder.stats().element(depth, System.nanoTime() - start);
+            }
+            return advanced;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            final OfInt ints = (OfInt) source;
+            final long size = ints.getExactSizeIfKnown();
+            final long start = System.nanoTime();
+            if (size >= 0) {
+                ints.forEachRemaining(action);
+                recorder.stats().leaf(size, depth, System.nanoTime() - start);
+            } else {
+                final long[] count = new long[1];
+                ints.forEachRemaining((int i) -> {
+                    count[0]++;
+                    action.accept(i);
+                });
+                recorder.stats().leaf(count[0], depth, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Integer> action) {
+            return action instanceof IntConsumer ? tryAdvance((IntConsumer) action) : tryAdvance((IntConsumer) action::accept);
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super Integer> action) {
+            if (action instanceof IntConsumer) {
+                forEachRemaining((IntConsumer) action);
+            } else {
+                forEachRemaining((IntConsumer) action::accept);
+            }
+        }
+    }
+}
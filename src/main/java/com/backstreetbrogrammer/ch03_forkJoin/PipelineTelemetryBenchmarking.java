@@ -0,0 +1,104 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PipelineTelemetryBenchmarking {
+
+    @Param({"1000000"})
+    private int N;
+
+    @Param({"4"})
+    private int PARALLELISM;
+
+    private ForkJoinPool forkJoinPool;
+
+    @Setup
+    public void setup() {
+        forkJoinPool = new ForkJoinPool(PARALLELISM);
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class TelemetryCounters {
+        public long steals;
+        public long leafTasks;
+        public long maxSplitDepth;
+        public long idleMicros;
+        public double imbalance;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            steals = 0;
+            leafTasks = 0;
+            maxSplitDepth = 0;
+            idleMicros = 0;
+            imbalance = 0D;
+        }
+
+        void record(final PipelineTelemetry.Summary summary) {
+            steals += summary.getSteals();
+            leafTasks += summary.getLeafTasks();
+            maxSplitDepth = Math.max(maxSplitDepth, summary.getMaxSplitDepth());
+            idleMicros += TimeUnit.NANOSECONDS.toMicros(summary.getIdleNanos());
+            imbalance = Math.max(imbalance, summary.getImbalance());
+        }
+    }
+
+    @Benchmark
+    public int sum_plain() {
+        return forkJoinPool.submit(() -> IntStream.range(0, N)
+                                                  .parallel()
+                                                  .map(i -> i * 3)
+                                                  .sum())
+                           .join();
+    }
+
+    @Benchmark
+    public int sum_peek_concurrent_map() {
+        final Map<String, Long> threadMap = new ConcurrentHashMap<>();
+        return forkJoinPool.submit(() -> IntStream.range(0, N)
+                                                  .parallel()
+                                                  .map(i -> i * 3)
+                                                  .peek(i -> threadMap.merge(Thread.currentThread().getName(),
+                                                                             1L, Long::sum))
+                                                  .sum())
+                           .join();
+    }
+
+    @Benchmark
+    public int sum_telemetry(final TelemetryCounters counters) {
+        final PipelineTelemetry.Result<Integer> result =
+                PipelineTelemetry.runInt(forkJoinPool, IntStream.range(0, N).spliterator(),
+                                         ints -> ints.map(i -> i * 3).sum());
+        counters.record(result.getSummary());
+        return result.getValue();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(PipelineTelemetryBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
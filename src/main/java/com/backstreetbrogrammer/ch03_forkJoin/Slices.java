@@ -0,0 +1,221 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// limit()/skip() on an ordered parallel stream buffers elements until it knows which ones fall inside the slice.
+// For SUBSIZED sources every split knows its exact position, so the slice can instead be cut out of the source
+// spliterator before the pipeline starts: splits outside the range are dropped and the two edge splits are trimmed.
+public final class Slices {
+
+    private Slices() {
+    }
+
+    public static <T> Stream<T> slice(final Collection<T> source, final long skip, final long limit) {
+        return slice(source.spliterator(), skip, limit, true);
+    }
+
+    public static <T> Stream<T> slice(final Spliterator<T> source, final long skip, final long limit,
+                                      final boolean parallel) {
+        checkArguments(skip, limit);
+        if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return StreamSupport.stream(source, parallel).skip(skip).limit(limit);
+        }
+        return StreamSupport.stream(new RangeSpliterator<>(source, 0L, skip, end(skip, limit)), parallel);
+    }
+
+    public static IntStream slice(final Spliterator.OfInt source, final long skip, final long limit,
+                                  final boolean parallel) {
+        checkArguments(skip, limit);
+        if (!source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            return StreamSupport.intStream(source, parallel).skip(skip).limit(limit);
+        }
+        return StreamSupport.intStream(new IntRangeSpliterator(source, 0L, skip, end(skip, limit)), parallel);
+    }
+
+    // bounded replacement for Stream.generate(...).parallel().limit(n): the size is known up front
+    // and no encounter order is promised, so nothing needs to be buffered
+    public static <T> Stream<T> generate(final Supplier<? extends T> generator, final long n) {
+        checkArguments(0L, n);
+        return LongStream.range(0L, n)
+                         .unordered()
+                         .parallel()
+                         .mapToObj(i -> generator.get());
+    }
+
+    public static IntStream generate(final IntSupplier generator, final long n) {
+        checkArguments(0L, n);
+        return LongStream.range(0L, n)
+                         .unordered()
+                         .parallel()
+                         .mapToInt(i -> generator.getAsInt());
+    }
+
+    private static void checkArguments(final long skip, final long limit) {
+        if (skip < 0) {
+            throw new IllegalArgumentException(Long.toString(skip));
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException(Long.toString(limit));
+        }
+    }
+
+    private static long end(final long skip, final long limit) {
+        final long end = skip + limit;
+        return end < 0 ? Long.MAX_VALUE : end;
+    }
+
+    static class RangeSpliterator<T> implements Spliterator<T> {
+
+        Spliterator<T> source;
+        long origin;
+        final long from;
+        final long to;
+
+        RangeSpliterator(final Spliterator<T> source, final long origin, final long from, final long to) {
+            this.source = source;
+            this.origin = origin;
+            this.from = from;
+            this.to = to;
+        }
+
+        RangeSpliterator<T> create(final Spliterator<T> prefix, final long prefixOrigin) {
+            return new RangeSpliterator<>(prefix, prefixOrigin, from, to);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            while (true) {
+                final Spliterator<T> prefix = source.trySplit();
+                if (prefix == null) {
+                    return null;
+                }
+                final long prefixOrigin = origin;
+                final long prefixEnd = prefixOrigin + prefix.getExactSizeIfKnown();
+                origin = prefixEnd;
+
+                final boolean prefixUseful = prefixEnd > from && prefixOrigin < to;
+                final boolean suffixUseful = origin < to && origin + source.getExactSizeIfKnown() > from;
+                if (prefixUseful && suffixUseful) {
+                    return create(prefix, prefixOrigin);
+                }
+                if (prefixUseful) {
+                    // the suffix lies beyond the slice: keep the prefix and carry on splitting it
+                    source = prefix;
+                    origin = prefixOrigin;
+                }
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            skipToFrom();
+            if (origin >= to || !source.tryAdvance(action)) {
+                return false;
+            }
+            origin++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            skipToFrom();
+            if (origin + source.getExactSizeIfKnown() <= to) {
+                origin += source.getExactSizeIfKnown();
+                source.forEachRemaining(action);
+                return;
+            }
+            while (origin < to && source.tryAdvance(action)) {
+                origin++;
+            }
+        }
+
+        void skipToFrom() {
+            while (origin < from && source.tryAdvance(ignored -> {
+            })) {
+                origin++;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            final long end = Math.min(to, origin + source.estimateSize());
+            return Math.max(0L, end - Math.max(from, origin));
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics() & (ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE | DISTINCT
+                    | SORTED | CONCURRENT);
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return source.getComparator();
+        }
+    }
+
+    static final class IntRangeSpliterator extends RangeSpliterator<Integer> implements Spliterator.OfInt {
+
+        IntRangeSpliterator(final Spliterator.OfInt source, final long origin, final long from, final long to) {
+            super(source, origin, from, to);
+        }
+
+        @Override
+        RangeSpliterator<Integer> create(final Spliterator<Integer> prefix, final long prefixOrigin) {
+            return new IntRangeSpliterator((Spliterator.OfInt) prefix, prefixOrigin, from, to);
+        }
+
+        @Override
+        public OfInt trySplit() {
+            return (OfInt) super.trySplit();
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            skipToFrom();
+            if (origin >= to || !((OfInt) source).tryAdvance(action)) {
+                return false;
+            }
+            origin++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            skipToFrom();
+            final OfInt ints = (OfInt) source;
+            if (origin + ints.getExactSizeIfKnown() <= to) {
+                origin += ints.getExactSizeIfKnown();
+                ints.forEachRemaining(action);
+                return;
+            }
+            while (origin < to && ints.tryAdvance(action)) {
+                origin++;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Integer> action) {
+            return action instanceof IntConsumer ? tryAdvance((IntConsumer) action) : tryAdvance((IntConsumer) action::accept);
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super Integer> action) {
+            if (action instanceof IntConsumer) {
+                forEachRemaining((IntConsumer) action);
+            } else {
+                forEachRemaining((IntConsumer) action::accept);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Owns long-lived, named ForkJoinPools so parallel streams can be isolated per workload without paying
+// new ForkJoinPool(..) + shutdown() on every call. A parallel stream started from inside a pool's task
+// runs all of its subtasks in that pool rather than in the common pool.
+public class StreamPools implements AutoCloseable {
+
+    private static final StreamPools GLOBAL = new StreamPools();
+
+    private final Map<String, ForkJoinPool> pools = new ConcurrentHashMap<>();
+    private final Thread.UncaughtExceptionHandler uncaughtExceptionHandler;
+
+    public StreamPools() {
+        this((thread, e) -> {
+            System.err.printf("Uncaught exception in %s%n", thread.getName());
+            e.printStackTrace();
+        });
+    }
+
+    public StreamPools(final Thread.UncaughtExceptionHandler uncaughtExceptionHandler) {
+        this.uncaughtExceptionHandler = uncaughtExceptionHandler;
+    }
+
+    public static StreamPools global() {
+        return GLOBAL;
+    }
+
+    public ForkJoinPool register(final String name, final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+        }
+        final ForkJoinPool pool = pools.computeIfAbsent(name, n -> newPool(n, parallelism));
+        if (pool.getParallelism() != parallelism) {
+            throw new IllegalStateException("Pool '" + name + "' already registered with parallelism "
+                                                    + pool.getParallelism());
+        }
+        return pool;
+    }
+
+    public ForkJoinPool pool(final String name) {
+        final ForkJoinPool pool = pools.get(name);
+        if (pool == null) {
+            throw new IllegalArgumentException("No pool registered under '" + name + "'");
+        }
+        return pool;
+    }
+
+    public Set<String> names() {
+        return new TreeSet<>(pools.keySet());
+    }
+
+    public <R> R run(final String name, final Supplier<R> pipeline) {
+        final ForkJoinPool pool = pool(name);
+        if (ForkJoinTask.getPool() == pool) {
+            // already on one of this pool's workers: submitting and joining would only add a hop
+            return pipeline.get();
+        }
+        return pool.invoke(ForkJoinTask.adapt(pipeline::get));
+    }
+
+    public void execute(final String name, final Runnable pipeline) {
+        run(name, () -> {
+            pipeline.run();
+            return null;
+        });
+    }
+
+    public boolean shutdown(final String name, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final ForkJoinPool pool = pools.remove(name);
+        if (pool == null) {
+            return true;
+        }
+        pool.shutdown();
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(ForkJoinPool::shutdown);
+        pools.clear();
+    }
+
+    private ForkJoinPool newPool(final String name, final int parallelism) {
+        final AtomicInteger threadIndex = new AtomicInteger();
+        final ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(name + "-worker-" + threadIndex.getAndIncrement());
+            return thread;
+        };
+        return new ForkJoinPool(parallelism, threadFactory, uncaughtExceptionHandler, false);
+    }
+}
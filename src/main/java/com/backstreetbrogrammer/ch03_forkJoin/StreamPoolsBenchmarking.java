@@ -0,0 +1,122 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class StreamPoolsBenchmarking {
+
+    @Param({"100000"})
+    private int N;
+
+    @Param({"4"})
+    private int PARALLELISM;
+
+    private StreamPools streamPools;
+
+    @Setup
+    public void setup() {
+        streamPools = new StreamPools();
+        streamPools.register("compute", PARALLELISM);
+        streamPools.register("io", PARALLELISM);
+    }
+
+    @TearDown
+    public void tearDown() {
+        streamPools.close();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BlockingNeighbour {
+
+        @Param({"COMMON", "ISOLATED"})
+        String PLACEMENT;
+
+        private volatile boolean running;
+        private Thread submitter;
+
+        @Setup
+        public void start(final StreamPoolsBenchmarking benchmark) {
+            final ForkJoinPool target = "COMMON".equals(PLACEMENT)
+                    ? ForkJoinPool.commonPool()
+                    : benchmark.streamPools.pool("io");
+            running = true;
+            submitter = new Thread(() -> {
+                while (running) {
+                    target.submit(() -> IntStream.range(0, target.getParallelism())
+                                                 .parallel()
+                                                 .forEach(i -> sleep(5L)))
+                          .join();
+                }
+            }, "blocking-neighbour");
+            submitter.setDaemon(true);
+            submitter.start();
+        }
+
+        @TearDown
+        public void stop() throws InterruptedException {
+            running = false;
+            submitter.join();
+        }
+
+        private static void sleep(final long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int sum() {
+        return IntStream.range(0, N)
+                        .map(i -> i * 3)
+                        .parallel()
+                        .sum();
+    }
+
+    @Benchmark
+    public int sum_new_pool_per_call() throws ExecutionException, InterruptedException {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(PARALLELISM);
+        try {
+            return forkJoinPool.submit(this::sum).get();
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int sum_registered_pool() {
+        return streamPools.run("compute", this::sum);
+    }
+
+    @Benchmark
+    public int sum_common_pool_with_blocking_neighbour(final BlockingNeighbour neighbour) {
+        return sum();
+    }
+
+    @Benchmark
+    public int sum_registered_pool_with_blocking_neighbour(final BlockingNeighbour neighbour) {
+        return streamPools.run("compute", this::sum);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(StreamPoolsBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
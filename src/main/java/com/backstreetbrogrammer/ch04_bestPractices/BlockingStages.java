@@ -0,0 +1,165 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Runs a blocking mapper (file read, remote lookup, ...) outside the fork-join pool: at most maxConcurrency
+// calls are in flight on the given executor, and results come back either in encounter order or as they finish.
+// On JDK 21+ the default executor starts one virtual thread per call; older runtimes fall back to a cached pool.
+public final class BlockingStages {
+
+    private BlockingStages() {
+    }
+
+    public static <T, R> Stream<R> mapConcurrent(final Stream<T> source, final int maxConcurrency,
+                                                 final boolean ordered,
+                                                 final Function<? super T, ? extends R> mapper) {
+        final ExecutorService executor = newVirtualThreadExecutor();
+        return BlockingStages.<T, R>mapConcurrent(source, maxConcurrency, ordered, mapper, executor)
+                             .onClose(executor::shutdownNow);
+    }
+
+    public static <T, R> Stream<R> mapConcurrent(final Stream<T> source, final int maxConcurrency,
+                                                 final boolean ordered,
+                                                 final Function<? super T, ? extends R> mapper,
+                                                 final ExecutorService executor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Illegal concurrency: " + maxConcurrency);
+        }
+        final MapConcurrentSpliterator<T, R> spliterator =
+                new MapConcurrentSpliterator<>(source.iterator(), maxConcurrency, ordered,
+                                               Objects.requireNonNull(mapper), executor);
+        return StreamSupport.stream(spliterator, false)
+                            .onClose(spliterator::cancel)
+                            .onClose(source::close);
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return VirtualThreads.FACTORY != null;
+    }
+
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VirtualThreads.FACTORY != null) {
+            try {
+                return (ExecutorService) VirtualThreads.FACTORY.invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "blocking-stage");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // looked up reflectively so the project still compiles for the Java 11 target
+    private static final class VirtualThreads {
+        static final Method FACTORY = lookup();
+
+        private static Method lookup() {
+            try {
+                return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }
+    }
+
+    static final class MapConcurrentSpliterator<T, R> extends Spliterators.AbstractSpliterator<R> {
+
+        private final Iterator<T> input;
+        private final int maxConcurrency;
+        private final boolean ordered;
+        private final Function<? super T, ? extends R> mapper;
+        private final ExecutorService executor;
+        private final CompletionService<R> completionService;
+        private final Deque<Future<R>> inFlight = new ArrayDeque<>();
+
+        MapConcurrentSpliterator(final Iterator<T> input, final int maxConcurrency, final boolean ordered,
+                                 final Function<? super T, ? extends R> mapper, final ExecutorService executor) {
+            super(Long.MAX_VALUE, ordered ? Spliterator.ORDERED : 0);
+            this.input = input;
+            this.maxConcurrency = maxConcurrency;
+            this.ordered = ordered;
+            this.mapper = mapper;
+            this.executor = executor;
+            this.completionService = new ExecutorCompletionService<>(executor);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super R> action) {
+            while (inFlight.size() < maxConcurrency && input.hasNext()) {
+                final T element = input.next();
+                // ordered results are awaited head-first, so only unordered ones go through the completion queue
+                inFlight.addLast(ordered ? executor.submit(() -> mapper.apply(element))
+                                         : completionService.submit(() -> mapper.apply(element)));
+            }
+            if (inFlight.isEmpty()) {
+                return false;
+            }
+            final Future<R> next;
+            if (ordered) {
+                next = inFlight.pollFirst();
+            } else {
+                next = take();
+                inFlight.remove(next);
+            }
+            action.accept(await(next));
+            return true;
+        }
+
+        void cancel() {
+            Future<R> future;
+            while ((future = inFlight.pollFirst()) != null) {
+                future.cancel(true);
+            }
+        }
+
+        private Future<R> take() {
+            try {
+                return completionService.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CompletionException(e);
+            }
+        }
+
+        private R await(final Future<R> future) {
+            try {
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new CompletionException(e);
+            } catch (final ExecutionException e) {
+                cancel();
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new CompletionException(cause);
+            }
+        }
+    }
+}
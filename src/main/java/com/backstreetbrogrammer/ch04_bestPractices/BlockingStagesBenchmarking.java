@@ -0,0 +1,119 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BlockingStagesBenchmarking {
+
+    private static final Path WORDS = Path.of("src", "main", "resources", "words.txt");
+
+    @Param({"1000"})
+    private int N;
+
+    @Param({"256"})
+    private int CONCURRENCY;
+
+    @Param({"SLEEP", "FILE_READ"})
+    private String LOOKUP;
+
+    private IntUnaryOperator lookup;
+    private ForkJoinPool forkJoinPool;
+    private ExecutorService virtualThreads;
+
+    @Setup
+    public void setup() {
+        lookup = "SLEEP".equals(LOOKUP) ? BlockingStagesBenchmarking::sleepLookup
+                                        : BlockingStagesBenchmarking::fileLookup;
+        forkJoinPool = new ForkJoinPool(CONCURRENCY);
+        virtualThreads = BlockingStages.newVirtualThreadExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        forkJoinPool.shutdown();
+        virtualThreads.shutdownNow();
+    }
+
+    private static int sleepLookup(final int key) {
+        try {
+            Thread.sleep(1L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return key * 3;
+    }
+
+    private static int fileLookup(final int key) {
+        try {
+            return Files.readAllBytes(WORDS).length + key;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public long lookup_parallel_common_pool() {
+        return IntStream.range(0, N)
+                        .parallel()
+                        .map(lookup)
+                        .asLongStream()
+                        .sum();
+    }
+
+    @Benchmark
+    public long lookup_parallel_custom_pool() {
+        return forkJoinPool.submit(() -> IntStream.range(0, N)
+                                                  .parallel()
+                                                  .map(lookup)
+                                                  .asLongStream()
+                                                  .sum())
+                           .join();
+    }
+
+    @Benchmark
+    public long lookup_map_concurrent_ordered() {
+        try (final Stream<Integer> results = BlockingStages.mapConcurrent(IntStream.range(0, N).boxed(),
+                                                                          CONCURRENCY, true,
+                                                                          lookup::applyAsInt,
+                                                                          virtualThreads)) {
+            return results.mapToLong(i -> i).sum();
+        }
+    }
+
+    @Benchmark
+    public long lookup_map_concurrent_unordered() {
+        try (final Stream<Integer> results = BlockingStages.mapConcurrent(IntStream.range(0, N).boxed(),
+                                                                          CONCURRENCY, false,
+                                                                          lookup::applyAsInt,
+                                                                          virtualThreads)) {
+            return results.mapToLong(i -> i).sum();
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(BlockingStagesBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static com.backstreetbrogrammer.ch04_bestPractices.ChunkedList.CHUNK_MASK;
+import static com.backstreetbrogrammer.ch04_bestPractices.ChunkedList.CHUNK_SHIFT;
+import static com.backstreetbrogrammer.ch04_bestPractices.ChunkedList.CHUNK_SIZE;
+
+public class ChunkedIntList {
+
+    private int[][] chunks = new int[8][];
+    private int size;
+
+    public static ChunkedIntList of(final int... values) {
+        final ChunkedIntList list = new ChunkedIntList();
+        for (final int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    public void add(final int value) {
+        final int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length << 1);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new int[CHUNK_SIZE];
+        }
+        chunks[chunk][size & CHUNK_MASK] = value;
+        size++;
+    }
+
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(final IntConsumer action) {
+        spliterator().forEachRemaining(action);
+    }
+
+    public int[] toArray() {
+        final int[] values = new int[size];
+        for (int chunk = 0, copied = 0; copied < size; chunk++) {
+            final int length = Math.min(CHUNK_SIZE, size - copied);
+            System.arraycopy(chunks[chunk], 0, values, copied, length);
+            copied += length;
+        }
+        return values;
+    }
+
+    public Spliterator.OfInt spliterator() {
+        return new ChunkSpliterator(chunks, 0, size);
+    }
+
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    static final class ChunkSpliterator implements Spliterator.OfInt {
+
+        private final int[][] chunks;
+        private int from;
+        private final int to;
+
+        ChunkSpliterator(final int[][] chunks, final int from, final int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            final int split = ChunkedList.splitPoint(from, to);
+            if (split < 0) {
+                return null;
+            }
+            final ChunkSpliterator prefix = new ChunkSpliterator(chunks, from, split);
+            from = split;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept(chunks[from >>> CHUNK_SHIFT][from & CHUNK_MASK]);
+            from++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            int i = from;
+            final int hi = to;
+            from = hi;
+            while (i < hi) {
+                final int[] chunk = chunks[i >>> CHUNK_SHIFT];
+                final int end = Math.min(hi, (i & ~CHUNK_MASK) + CHUNK_SIZE);
+                for (int j = i & CHUNK_MASK; i < end; i++, j++) {
+                    action.accept(chunk[j]);
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
+}
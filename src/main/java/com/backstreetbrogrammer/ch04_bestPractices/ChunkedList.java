@@ -0,0 +1,139 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class ChunkedList<T> extends AbstractList<T> implements RandomAccess {
+
+    static final int CHUNK_SHIFT = 12;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // appends fill the last chunk and then start a new one, so existing elements are never copied
+    private Object[][] chunks = new Object[8][];
+    private int size;
+
+    @Override
+    public boolean add(final T element) {
+        final int chunk = size >>> CHUNK_SHIFT;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length << 1);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new Object[CHUNK_SIZE];
+        }
+        chunks[chunk][size & CHUNK_MASK] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        checkIndex(index);
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T set(final int index, final T element) {
+        checkIndex(index);
+        final Object[] chunk = chunks[index >>> CHUNK_SHIFT];
+        final T previous = (T) chunk[index & CHUNK_MASK];
+        chunk[index & CHUNK_MASK] = element;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[8][];
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ChunkSpliterator<>(chunks, 0, size);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    static int splitPoint(final int from, final int to) {
+        final int mid = (from + to) >>> 1;
+        final int aligned = (mid + (CHUNK_SIZE >>> 1)) & ~CHUNK_MASK;
+        return aligned > from && aligned < to ? aligned : -1;
+    }
+
+    static final class ChunkSpliterator<T> implements Spliterator<T> {
+
+        private final Object[][] chunks;
+        private int from;
+        private final int to;
+
+        ChunkSpliterator(final Object[][] chunks, final int from, final int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int split = splitPoint(from, to);
+            if (split < 0) {
+                return null;
+            }
+            final ChunkSpliterator<T> prefix = new ChunkSpliterator<>(chunks, from, split);
+            from = split;
+            return prefix;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (from >= to) {
+                return false;
+            }
+            action.accept((T) chunks[from >>> CHUNK_SHIFT][from & CHUNK_MASK]);
+            from++;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(final Consumer<? super T> action) {
+            int i = from;
+            final int hi = to;
+            from = hi;
+            while (i < hi) {
+                final Object[] chunk = chunks[i >>> CHUNK_SHIFT];
+                final int end = Math.min(hi, (i & ~CHUNK_MASK) + CHUNK_SIZE);
+                for (int j = i & CHUNK_MASK; i < end; i++, j++) {
+                    action.accept((T) chunk[j]);
+                }
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+// Immutable set built once from a collection: the elements sit in a dense array and a separate open-addressed
+// table of array indexes answers contains(). Streams split the dense array by index like an ArrayList, so
+// every split is exactly sized instead of HashMap's bucket ranges with estimated sizes.
+public final class CompactSet<E> extends AbstractSet<E> {
+
+    private static final int EMPTY = 0;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final Object[] elements;
+    private final int[] hashes;
+    // linear probing table, kept at most half full; slot values are element index + 1, 0 marks an empty slot
+    private final int[] table;
+    private final int mask;
+    private final int size;
+
+    private CompactSet(final Collection<? extends E> source) {
+        final int capacity = tableSizeFor(source.size());
+        final Object[] dense = new Object[source.size()];
+        final int[] denseHashes = new int[source.size()];
+        table = new int[capacity];
+        mask = capacity - 1;
+        int count = 0;
+        for (final E element : source) {
+            final int hash = hash(Objects.requireNonNull(element, "CompactSet does not accept null elements"));
+            int index = hash & mask;
+            boolean duplicate = false;
+            while (table[index] != EMPTY) {
+                final int slot = table[index] - 1;
+                if (denseHashes[slot] == hash && dense[slot].equals(element)) {
+                    duplicate = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!duplicate) {
+                dense[count] = element;
+                denseHashes[count] = hash;
+                table[index] = ++count;
+            }
+        }
+        elements = count == dense.length ? dense : Arrays.copyOf(dense, count);
+        hashes = count == denseHashes.length ? denseHashes : Arrays.copyOf(denseHashes, count);
+        size = count;
+    }
+
+    public static <E> CompactSet<E> copyOf(final Collection<? extends E> source) {
+        return new CompactSet<>(source);
+    }
+
+    @SafeVarargs
+    public static <E> CompactSet<E> of(final E... elements) {
+        // copied element by element: handing the varargs array to another method trips -Xlint:varargs
+        final List<E> source = new ArrayList<>(elements.length);
+        for (final E element : elements) {
+            source.add(element);
+        }
+        return new CompactSet<>(source);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (o == null) {
+            return false;
+        }
+        final int hash = hash(o);
+        int index = hash & mask;
+        while (table[index] != EMPTY) {
+            final int slot = table[index] - 1;
+            if (hashes[slot] == hash && elements[slot].equals(o)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(final int index) {
+        Objects.checkIndex(index, size);
+        return (E) elements[index];
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[next++];
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept((E) elements[i]);
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(elements, 0, size,
+                                        Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public boolean add(final E e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    static int hash(final Object element) {
+        final int h = element.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final long target = Math.max(2L, (long) expectedSize * 2);
+        if (target > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Set too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) (target - 1)) << 1;
+    }
+}
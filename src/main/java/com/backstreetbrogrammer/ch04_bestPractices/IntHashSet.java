@@ -0,0 +1,248 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+public class IntHashSet {
+
+    private static final int EMPTY = 0;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // linear probing table, kept at most half full; 0 marks an empty slot so the value 0 is tracked separately
+    private int[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public IntHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntHashSet(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal size: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public static IntHashSet of(final int... values) {
+        final IntHashSet set = new IntHashSet(values.length);
+        for (final int value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    public static IntHashSet collect(final IntStream values) {
+        return values.collect(IntHashSet::new, IntHashSet::add, IntHashSet::addAll);
+    }
+
+    public static Collector<Integer, IntHashSet, IntHashSet> toIntHashSet() {
+        return new IntHashSetCollector();
+    }
+
+    public boolean add(final int value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int index = hash(value) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        // check before storing: at MAX_CAPACITY the shift below would overflow to a negative capacity
+        if (size >= (table.length >>> 1) && table.length >= MAX_CAPACITY) {
+            throw capacityExceeded();
+        }
+        table[index] = value;
+        size++;
+        if (size > (table.length >>> 1)) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(final int value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int index = hash(value) & mask;
+        while (table[index] != EMPTY) {
+            if (table[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public void addAll(final IntHashSet other) {
+        ensureCapacity(size + other.size);
+        other.forEach(this::add);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(final IntConsumer action) {
+        if (containsZero) {
+            action.accept(EMPTY);
+        }
+        for (final int value : table) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        final int[] values = new int[size];
+        int i = 0;
+        if (containsZero) {
+            values[i++] = EMPTY;
+        }
+        for (final int value : table) {
+            if (value != EMPTY) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final IntHashSet other = (IntHashSet) o;
+        if (size != other.size || containsZero != other.containsZero) return false;
+        for (final int value : table) {
+            if (value != EMPTY && !other.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (final int value : table) {
+            h += value;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "IntHashSet{" +
+                "size=" + size +
+                '}';
+    }
+
+    static int hash(final int value) {
+        final int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void ensureCapacity(final int expectedSize) {
+        final int required = tableSizeFor(expectedSize);
+        if (required > table.length) {
+            rehash(required);
+        }
+    }
+
+    private void rehash(final int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw capacityExceeded();
+        }
+        final int[] oldTable = table;
+        allocate(newCapacity);
+        for (final int value : oldTable) {
+            if (value != EMPTY) {
+                int index = hash(value) & mask;
+                while (table[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                table[index] = value;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static IllegalStateException capacityExceeded() {
+        return new IllegalStateException("IntHashSet cannot grow beyond " + (MAX_CAPACITY >>> 1) + " elements");
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final long required = Math.max(DEFAULT_CAPACITY, 2L * expectedSize + 1);
+        if (required > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    private static final class IntHashSetCollector implements Collector<Integer, IntHashSet, IntHashSet> {
+
+        @Override
+        public Supplier<IntHashSet> supplier() {
+            return IntHashSet::new;
+        }
+
+        @Override
+        public BiConsumer<IntHashSet, Integer> accumulator() {
+            return IntHashSet::add;
+        }
+
+        @Override
+        public BinaryOperator<IntHashSet> combiner() {
+            // always drain the smaller set into the larger one
+            return (left, right) -> {
+                if (left.size >= right.size) {
+                    left.addAll(right);
+                    return left;
+                }
+                right.addAll(left);
+                return right;
+            };
+        }
+
+        @Override
+        public Function<IntHashSet, IntHashSet> finisher() {
+            return Function.identity();
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return EnumSet.of(Characteristics.UNORDERED, Characteristics.IDENTITY_FINISH);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import com.backstreetbrogrammer.ch03_forkJoin.SafeReducers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+// Minimal int-only pipeline over an array or an index range. Stages are only recorded until a terminal
+// operation runs; then every fork-join leaf pushes its slice of the source through all stages in one loop.
+// A pipeline made only of map() stages is composed into a single operator and runs as a plain counted loop
+// over the source, which is the shape the JIT unrolls and vectorizes; filter() stages fall back to a chain
+// of sinks, still one pass per leaf and without boxing.
+public final class IntPipeline {
+
+    private static final int MIN_LEAF = 1 << 12;
+    private static final int LEAVES_PER_WORKER = 4;
+
+    // null for range sources: element i is then i itself
+    private final int[] source;
+    private final int from;
+    private final int to;
+    private final Stage stage;
+    private final boolean parallel;
+
+    private IntPipeline(final int[] source, final int from, final int to, final Stage stage, final boolean parallel) {
+        this.source = source;
+        this.from = from;
+        this.to = to;
+        this.stage = stage;
+        this.parallel = parallel;
+    }
+
+    public static IntPipeline of(final int[] source) {
+        return new IntPipeline(source, 0, source.length, null, false);
+    }
+
+    public static IntPipeline of(final int[] source, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, source.length);
+        return new IntPipeline(source, from, to, null, false);
+    }
+
+    public static IntPipeline range(final int from, final int to) {
+        return new IntPipeline(null, from, Math.max(from, to), null, false);
+    }
+
+    public IntPipeline map(final IntUnaryOperator mapper) {
+        return new IntPipeline(source, from, to, new Stage(Objects.requireNonNull(mapper), null, stage), parallel);
+    }
+
+    public IntPipeline filter(final IntPredicate predicate) {
+        return new IntPipeline(source, from, to, new Stage(null, Objects.requireNonNull(predicate), stage), parallel);
+    }
+
+    public IntPipeline parallel() {
+        return new IntPipeline(source, from, to, stage, true);
+    }
+
+    public IntPipeline sequential() {
+        return new IntPipeline(source, from, to, stage, false);
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    // op must be associative and identity its identity, as for IntStream.reduce
+    public int reduce(final int identity, final IntBinaryOperator op) {
+        final IntUnaryOperator mapper = composedMapper();
+        return evaluate((lo, hi) -> {
+            int result = identity;
+            if (mapper != null) {
+                if (source != null) {
+                    for (int i = lo; i < hi; i++) {
+                        result = op.applyAsInt(result, mapper.applyAsInt(source[i]));
+                    }
+                } else {
+                    for (int i = lo; i < hi; i++) {
+                        result = op.applyAsInt(result, mapper.applyAsInt(i));
+                    }
+                }
+                return result;
+            }
+            final ReduceSink sink = new ReduceSink(identity, op);
+            push(lo, hi, chain(sink));
+            return sink.result;
+        }, op::applyAsInt);
+    }
+
+    public int reduce(final SafeReducers.IntMonoid monoid) {
+        return reduce(monoid.getIdentity(), monoid.getOperator());
+    }
+
+    public int sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    public long sumAsLong() {
+        final IntUnaryOperator mapper = composedMapper();
+        return evaluate((lo, hi) -> {
+            long sum = 0L;
+            if (mapper != null) {
+                if (source != null) {
+                    for (int i = lo; i < hi; i++) {
+                        sum += mapper.applyAsInt(source[i]);
+                    }
+                } else {
+                    for (int i = lo; i < hi; i++) {
+                        sum += mapper.applyAsInt(i);
+                    }
+                }
+                return sum;
+            }
+            final LongSumSink sink = new LongSumSink();
+            push(lo, hi, chain(sink));
+            return sink.sum;
+        }, Long::sum);
+    }
+
+    public long count() {
+        if (composedMapper() != null) {
+            return (long) to - from;
+        }
+        return evaluate((lo, hi) -> {
+            final CountSink sink = new CountSink();
+            push(lo, hi, chain(sink));
+            return sink.count;
+        }, Long::sum);
+    }
+
+    public int[] toArray() {
+        // a range source can be wider than any array even before filtering
+        final long size = (long) to - from;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Pipeline size exceeds max array size: " + size);
+        }
+        final IntUnaryOperator mapper = composedMapper();
+        if (mapper != null) {
+            // one output slot per source element: leaves write their slice in place
+            final int[] out = new int[(int) size];
+            evaluate((lo, hi) -> {
+                if (source != null) {
+                    for (int i = lo; i < hi; i++) {
+                        out[i - from] = mapper.applyAsInt(source[i]);
+                    }
+                } else {
+                    for (int i = lo; i < hi; i++) {
+                        out[i - from] = mapper.applyAsInt(i);
+                    }
+                }
+                return Boolean.TRUE;
+            }, (a, b) -> a);
+            return out;
+        }
+        // filtered: every leaf keeps its own buffer, buffers are concatenated once in encounter order
+        final List<ArraySink> leaves = evaluate((lo, hi) -> {
+            final ArraySink sink = new ArraySink(hi - lo);
+            push(lo, hi, chain(sink));
+            final List<ArraySink> single = new ArrayList<>(1);
+            single.add(sink);
+            return single;
+        }, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+        int total = 0;
+        for (final ArraySink leaf : leaves) {
+            total += leaf.size;
+        }
+        final int[] out = new int[total];
+        int offset = 0;
+        for (final ArraySink leaf : leaves) {
+            System.arraycopy(leaf.values, 0, out, offset, leaf.size);
+            offset += leaf.size;
+        }
+        return out;
+    }
+
+    // all stages composed into one operator, or null when any stage is a filter
+    private IntUnaryOperator composedMapper() {
+        IntUnaryOperator mapper = IntUnaryOperator.identity();
+        for (Stage s = stage; s != null; s = s.previous) {
+            if (s.filter != null) {
+                return null;
+            }
+            final IntUnaryOperator outer = s.mapper;
+            final IntUnaryOperator inner = mapper;
+            mapper = inner == IntUnaryOperator.identity() ? outer : value -> inner.applyAsInt(outer.applyAsInt(value));
+        }
+        return mapper;
+    }
+
+    private Sink chain(final Sink terminal) {
+        Sink sink = terminal;
+        for (Stage s = stage; s != null; s = s.previous) {
+            sink = s.filter != null ? new FilterSink(s.filter, sink) : new MapSink(s.mapper, sink);
+        }
+        return sink;
+    }
+
+    private void push(final int lo, final int hi, final Sink head) {
+        if (source != null) {
+            for (int i = lo; i < hi; i++) {
+                head.accept(source[i]);
+            }
+        } else {
+            for (int i = lo; i < hi; i++) {
+                head.accept(i);
+            }
+        }
+    }
+
+    private <R> R evaluate(final Leaf<R> leaf, final BinaryOperator<R> combiner) {
+        final long size = (long) to - from;
+        if (!parallel || size <= MIN_LEAF) {
+            return leaf.run(from, to);
+        }
+        final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+        final int leafSize = (int) Math.max(MIN_LEAF, size / (pool.getParallelism() * LEAVES_PER_WORKER));
+        final LeafTask<R> task = new LeafTask<>(leaf, combiner, from, to, leafSize);
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    @FunctionalInterface
+    interface Leaf<R> {
+        R run(int lo, int hi);
+    }
+
+    static final class LeafTask<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Leaf<R> leaf;
+        private final BinaryOperator<R> combiner;
+        private final int lo;
+        private final int hi;
+        private final int leafSize;
+
+        LeafTask(final Leaf<R> leaf, final BinaryOperator<R> combiner, final int lo, final int hi,
+                 final int leafSize) {
+            this.leaf = leaf;
+            this.combiner = combiner;
+            this.lo = lo;
+            this.hi = hi;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected R compute() {
+            // lo may be negative and hi - lo may exceed Integer.MAX_VALUE for range sources
+            if ((long) hi - lo <= leafSize) {
+                return leaf.run(lo, hi);
+            }
+            final int mid = lo + ((hi - lo) >>> 1);
+            final LeafTask<R> left = new LeafTask<>(leaf, combiner, lo, mid, leafSize);
+            left.fork();
+            final R right = new LeafTask<>(leaf, combiner, mid, hi, leafSize).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    // stages are linked from the last one back to the source
+    static final class Stage {
+
+        final IntUnaryOperator mapper;
+        final IntPredicate filter;
+        final Stage previous;
+
+        Stage(final IntUnaryOperator mapper, final IntPredicate filter, final Stage previous) {
+            this.mapper = mapper;
+            this.filter = filter;
+            this.previous = previous;
+        }
+    }
+
+    abstract static class Sink {
+        abstract void accept(int value);
+    }
+
+    static final class MapSink extends Sink {
+
+        private final IntUnaryOperator mapper;
+        private final Sink downstream;
+
+        MapSink(final IntUnaryOperator mapper, final Sink downstream) {
+            this.mapper = mapper;
+            this.downstream = downstream;
+        }
+
+        @Override
+        void accept(final int value) {
+            downstream.accept(mapper.applyAsInt(value));
+        }
+    }
+
+    static final class FilterSink extends Sink {
+
+        private final IntPredicate predicate;
+        private final Sink downstream;
+
+        FilterSink(final IntPredicate predicate, final Sink downstream) {
+            this.predicate = predicate;
+            this.downstream = downstream;
+        }
+
+        @Override
+        void accept(final int value) {
+            if (predicate.test(value)) {
+                downstream.accept(value);
+            }
+        }
+    }
+
+    static final class ReduceSink extends Sink {
+
+        private final IntBinaryOperator op;
+        int result;
+
+        ReduceSink(final int identity, final IntBinaryOperator op) {
+            this.result = identity;
+            this.op = op;
+        }
+
+        @Override
+        void accept(final int value) {
+            result = op.applyAsInt(result, value);
+        }
+    }
+
+    static final class LongSumSink extends Sink {
+
+        long sum;
+
+        @Override
+        void accept(final int value) {
+            sum += value;
+        }
+    }
+
+    static final class CountSink extends Sink {
+
+        long count;
+
+        @Override
+        void accept(final int value) {
+            count++;
+        }
+    }
+
+    static final class ArraySink extends Sink {
+
+        final int[] values;
+        int size;
+
+        ArraySink(final int capacity) {
+            this.values = new int[capacity];
+        }
+
+        @Override
+        void accept(final int value) {
+            values[size++] = value;
+        }
+    }
+}
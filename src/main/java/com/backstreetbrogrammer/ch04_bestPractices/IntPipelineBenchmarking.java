@@ -0,0 +1,118 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// The AutoboxingBenchmarking and MergingResultsBenchmarking sums (i * 7 over a range, reduce(0, Integer::sum) over
+// a List<Integer>) plus a filter/map/toArray pipeline, each as a boxed Stream<Integer>, an IntStream and an IntPipeline
+@Warmup(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class IntPipelineBenchmarking {
+
+    @Param({"100000", "10000000"})
+    private int N;
+
+    private final List<Integer> arrayListOfNumbers = new ArrayList<>();
+    private int[] arrayOfNumbers;
+
+    @Setup
+    public void setup() {
+        IntStream.rangeClosed(1, N).forEach(arrayListOfNumbers::add);
+        arrayOfNumbers = IntStream.rangeClosed(1, N).toArray();
+    }
+
+    @Benchmark
+    public int sum_of_range_boxed_stream() {
+        return IntStream.range(0, N).boxed().map(i -> i * 7).reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int sum_of_range_intStream() {
+        return IntStream.range(0, N).map(i -> i * 7).sum();
+    }
+
+    @Benchmark
+    public int sum_of_range_intPipeline() {
+        return IntPipeline.range(0, N).map(i -> i * 7).sum();
+    }
+
+    @Benchmark
+    public int sum_of_range_intPipeline_parallel() {
+        return IntPipeline.range(0, N).parallel().map(i -> i * 7).sum();
+    }
+
+    @Benchmark
+    public int sum_arrayList_sequential() {
+        return arrayListOfNumbers.stream().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int sum_arrayList_parallel() {
+        return arrayListOfNumbers.stream().parallel().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int sum_array_intStream_sequential() {
+        return Arrays.stream(arrayOfNumbers).sum();
+    }
+
+    @Benchmark
+    public int sum_array_intStream_parallel() {
+        return Arrays.stream(arrayOfNumbers).parallel().sum();
+    }
+
+    @Benchmark
+    public int sum_array_intPipeline_sequential() {
+        return IntPipeline.of(arrayOfNumbers).sum();
+    }
+
+    @Benchmark
+    public int sum_array_intPipeline_parallel() {
+        return IntPipeline.of(arrayOfNumbers).parallel().sum();
+    }
+
+    @Benchmark
+    public Object[] filter_map_toArray_boxed_stream() {
+        return arrayListOfNumbers.stream().filter(i -> i % 3 == 0).map(i -> i * 7).toArray();
+    }
+
+    @Benchmark
+    public int[] filter_map_toArray_intStream() {
+        return Arrays.stream(arrayOfNumbers).filter(i -> i % 3 == 0).map(i -> i * 7).toArray();
+    }
+
+    @Benchmark
+    public int[] filter_map_toArray_intStream_parallel() {
+        return Arrays.stream(arrayOfNumbers).parallel().filter(i -> i % 3 == 0).map(i -> i * 7).toArray();
+    }
+
+    @Benchmark
+    public int[] filter_map_toArray_intPipeline() {
+        return IntPipeline.of(arrayOfNumbers).filter(i -> i % 3 == 0).map(i -> i * 7).toArray();
+    }
+
+    @Benchmark
+    public int[] filter_map_toArray_intPipeline_parallel() {
+        return IntPipeline.of(arrayOfNumbers).parallel().filter(i -> i % 3 == 0).map(i -> i * 7).toArray();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(IntPipelineBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
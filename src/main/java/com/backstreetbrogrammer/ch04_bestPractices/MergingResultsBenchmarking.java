@@ -7,7 +7,9 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -18,37 +20,110 @@ import java.util.stream.IntStream;
 @Fork(value = 3)
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
-@State(Scope.Benchmark)
 public class MergingResultsBenchmarking {
 
-    @Param({"1000000"})
-    private int N;
+    @State(Scope.Benchmark)
+    public static class BoxedList {
 
-    private final List<Integer> arrayListOfNumbers = new ArrayList<>();
+        @Param({"1000000", "10000000"})
+        int N;
 
-    @Setup
-    public void setup() {
-        IntStream.rangeClosed(1, N).forEach(arrayListOfNumbers::add);
+        final List<Integer> arrayListOfNumbers = new ArrayList<>();
+
+        @Setup
+        public void setup() {
+            IntStream.rangeClosed(1, N).forEach(arrayListOfNumbers::add);
+        }
+    }
+
+    // only the primitive IntHashSet paths go up to 50M: boxed sets and maps of that size need several GB of heap
+    @State(Scope.Benchmark)
+    public static class IntArray {
+
+        @Param({"1000000", "10000000", "50000000"})
+        int ARRAY_N;
+
+        int[] arrayOfNumbers;
+
+        @Setup
+        public void setup() {
+            arrayOfNumbers = IntStream.rangeClosed(1, ARRAY_N).toArray();
+        }
+    }
+
+    @Benchmark
+    public double sum_arrayList_sequential(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public double sum_arrayList_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public Set<Integer> collect_arrayList_sequential(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public Set<Integer> collect_arrayList_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public IntHashSet collect_arrayList_intHashSet_sequential(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().collect(IntHashSet.toIntHashSet());
+    }
+
+    @Benchmark
+    public IntHashSet collect_arrayList_intHashSet_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(IntHashSet.toIntHashSet());
+    }
+
+    @Benchmark
+    public IntHashSet collect_array_intHashSet_sequential(final IntArray array) {
+        return IntHashSet.collect(Arrays.stream(array.arrayOfNumbers));
+    }
+
+    @Benchmark
+    public IntHashSet collect_array_intHashSet_parallel(final IntArray array) {
+        return IntHashSet.collect(Arrays.stream(array.arrayOfNumbers).parallel());
+    }
+
+    @Benchmark
+    public Set<Integer> collect_arrayList_partitioned_sequential(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().collect(PartitionedCollectors.toSet());
+    }
+
+    @Benchmark
+    public Set<Integer> collect_arrayList_partitioned_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(PartitionedCollectors.toSet());
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> toMap_arrayList_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(Collectors.toMap(i -> i, i -> i * 3));
     }
 
     @Benchmark
-    public double sum_arrayList_sequential() {
-        return arrayListOfNumbers.stream().reduce(0, Integer::sum);
+    public Map<Integer, Integer> toMap_arrayList_partitioned_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(PartitionedCollectors.toMap(i -> i, i -> i * 3));
     }
 
     @Benchmark
-    public double sum_arrayList_parallel() {
-        return arrayListOfNumbers.stream().parallel().reduce(0, Integer::sum);
+    public Map<Integer, List<Integer>> groupingBy_arrayList_sequential(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().collect(Collectors.groupingBy(i -> i % 10_000));
     }
 
     @Benchmark
-    public Set<Integer> collect_arrayList_sequential() {
-        return arrayListOfNumbers.stream().collect(Collectors.toSet());
+    public Map<Integer, List<Integer>> groupingBy_arrayList_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(Collectors.groupingBy(i -> i % 10_000));
     }
 
     @Benchmark
-    public Set<Integer> collect_arrayList_parallel() {
-        return arrayListOfNumbers.stream().parallel().collect(Collectors.toSet());
+    public Map<Integer, List<Integer>> groupingBy_arrayList_partitioned_parallel(final BoxedList list) {
+        return list.arrayListOfNumbers.stream().parallel().collect(PartitionedCollectors.groupingBy(i -> i % 10_000));
     }
 
     public static void main(final String[] args) throws RunnerException {
@@ -0,0 +1,117 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import com.backstreetbrogrammer.ch04_bestPractices.OrderAggregator.SymbolSide;
+import com.backstreetbrogrammer.ch04_bestPractices.OrderAggregator.Totals;
+import com.backstreetbrogrammer.model.CompactOrder;
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderColumns;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 3, jvmArgs = {"-Xms8g", "-Xmx8g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class OrderAggregationBenchmarking {
+
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    @Param({"1000000", "10000000"})
+    private int N;
+
+    @Param({"8", "500"})
+    private int SYMBOLS;
+
+    private List<Order> orders;
+    private OrderColumns orderColumns;
+    private List<CompactOrder> compactOrders;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(314159L);
+        final String[] symbols = new String[SYMBOLS];
+        for (int i = 0; i < SYMBOLS; i++) {
+            symbols[i] = "SYM" + i;
+        }
+        orders = new ArrayList<>(N);
+        for (int i = 0; i < N; i++) {
+            orders.add(new Order(i,
+                                 symbols[random.nextInt(SYMBOLS)],
+                                 100D + random.nextInt(10_000) / 100D,
+                                 1 + random.nextInt(2_000),
+                                 SIDES[random.nextInt(SIDES.length)]));
+        }
+        orderColumns = OrderColumns.of(orders);
+        compactOrders = orders.stream().map(CompactOrder::of).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Map<SymbolSide, double[]> aggregate_groupingBy_parallel() {
+        return orders.parallelStream()
+                     .collect(Collectors.groupingBy(order -> new SymbolSide(order.getSymbol(), order.getSide()),
+                                                    totals()));
+    }
+
+    @Benchmark
+    public Map<SymbolSide, double[]> aggregate_groupingByConcurrent_parallel() {
+        return orders.parallelStream()
+                     .collect(Collectors.groupingByConcurrent(
+                             order -> new SymbolSide(order.getSymbol(), order.getSide()), totals()));
+    }
+
+    @Benchmark
+    public Map<SymbolSide, Totals> aggregate_orders_engine_sequential() {
+        return OrderAggregator.aggregate(orders, false);
+    }
+
+    @Benchmark
+    public Map<SymbolSide, Totals> aggregate_orders_engine_parallel() {
+        return OrderAggregator.aggregate(orders, true);
+    }
+
+    @Benchmark
+    public Map<SymbolSide, Totals> aggregate_compact_engine_parallel() {
+        return OrderAggregator.aggregateCompact(compactOrders, true);
+    }
+
+    @Benchmark
+    public Map<SymbolSide, Totals> aggregate_columns_engine_parallel() {
+        return OrderAggregator.aggregate(orderColumns, true);
+    }
+
+    // {count, quantity, notional}
+    private static Collector<Order, ?, double[]> totals() {
+        return Collector.of(() -> new double[3],
+                            (totals, order) -> {
+                                totals[0]++;
+                                totals[1] += order.getQuantity();
+                                totals[2] += order.getPrice() * order.getQuantity();
+                            },
+                            (left, right) -> {
+                                left[0] += right[0];
+                                left[1] += right[1];
+                                left[2] += right[2];
+                                return left;
+                            });
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(OrderAggregationBenchmarking.class.getName())
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,224 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import com.backstreetbrogrammer.model.CompactOrder;
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderColumns;
+import com.backstreetbrogrammer.model.SymbolDictionary;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Per (symbol, side) totals: symbols are dictionary-encoded to dense ints, every worker thread adds into its
+// own primitive arrays indexed by (code, side), and the per-thread arrays are merged exactly once after the
+// pipeline has finished. Order input still pays one SymbolDictionary lookup per order to encode its symbol;
+// already-encoded input (OrderColumns rows, CompactOrder) aggregates without any map lookup.
+public final class OrderAggregator {
+
+    private OrderAggregator() {
+    }
+
+    public static Map<SymbolSide, Totals> aggregate(final Collection<Order> orders, final boolean parallel) {
+        final SymbolDictionary dictionary = SymbolDictionary.global();
+        final Accumulators accumulators = new Accumulators(dictionary.size());
+        final Stream<Order> stream = parallel ? orders.parallelStream() : orders.stream();
+        stream.forEach(order -> accumulators.local().add(dictionary.code(order.getSymbol()),
+                                                         OrderColumns.sideCode(order.getSide()),
+                                                         order.getPrice(),
+                                                         order.getQuantity()));
+        final String[] symbols = new String[dictionary.size()];
+        Arrays.setAll(symbols, dictionary::symbol);
+        return accumulators.merge(symbols.length).toMap(symbols);
+    }
+
+    public static Map<SymbolSide, Totals> aggregateCompact(final Collection<CompactOrder> orders,
+                                                           final boolean parallel) {
+        final SymbolDictionary dictionary = SymbolDictionary.global();
+        final Accumulators accumulators = new Accumulators(dictionary.size());
+        final Stream<CompactOrder> stream = parallel ? orders.parallelStream() : orders.stream();
+        stream.forEach(order -> accumulators.local().add(order.getSymbolCode(),
+                                                         order.getSideCode(),
+                                                         order.getPrice(),
+                                                         order.getQuantity()));
+        final String[] symbols = new String[dictionary.size()];
+        Arrays.setAll(symbols, dictionary::symbol);
+        return accumulators.merge(symbols.length).toMap(symbols);
+    }
+
+    public static Map<SymbolSide, Totals> aggregate(final OrderColumns orders, final boolean parallel) {
+        final Accumulators accumulators = new Accumulators(orders.symbolCount());
+        final IntStream rows = orders.rows(parallel);
+        rows.forEach(row -> accumulators.local().add(orders.getSymbolCode(row),
+                                                     orders.getSide(row),
+                                                     orders.getPrice(row),
+                                                     orders.getQuantity(row)));
+        final String[] symbols = new String[orders.symbolCount()];
+        Arrays.setAll(symbols, orders::symbolOf);
+        return accumulators.merge(symbols.length).toMap(symbols);
+    }
+
+    public static final class SymbolSide {
+
+        private final String symbol;
+        private final String side;
+
+        public SymbolSide(final String symbol, final String side) {
+            this.symbol = symbol;
+            this.side = OrderColumns.sideName(OrderColumns.sideCode(side));
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public String getSide() {
+            return side;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final SymbolSide that = (SymbolSide) o;
+            return symbol.equals(that.symbol) && side.equals(that.side);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, side);
+        }
+
+        @Override
+        public String toString() {
+            return symbol + ":" + side;
+        }
+    }
+
+    public static final class Totals {
+
+        private final long count;
+        private final long quantity;
+        private final double notional;
+
+        Totals(final long count, final long quantity, final double notional) {
+            this.count = count;
+            this.quantity = quantity;
+            this.notional = notional;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public double getNotional() {
+            return notional;
+        }
+
+        public double getVwap() {
+            return quantity == 0 ? Double.NaN : notional / quantity;
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" +
+                    "count=" + count +
+                    ", quantity=" + quantity +
+                    ", notional=" + notional +
+                    ", vwap=" + getVwap() +
+                    '}';
+        }
+    }
+
+    // slot = symbolCode * 2 + side
+    static final class Accumulator {
+
+        long[] counts;
+        long[] quantities;
+        double[] notionals;
+
+        Accumulator(final int symbols) {
+            counts = new long[Math.max(1, symbols) * 2];
+            quantities = new long[counts.length];
+            notionals = new double[counts.length];
+        }
+
+        void add(final int symbolCode, final byte side, final double price, final int quantity) {
+            final int slot = (symbolCode << 1) | side;
+            if (slot >= counts.length) {
+                grow(slot + 1);
+            }
+            counts[slot]++;
+            quantities[slot] += quantity;
+            notionals[slot] += price * quantity;
+        }
+
+        void addAll(final Accumulator other) {
+            if (other.counts.length > counts.length) {
+                grow(other.counts.length);
+            }
+            for (int slot = 0; slot < other.counts.length; slot++) {
+                counts[slot] += other.counts[slot];
+                quantities[slot] += other.quantities[slot];
+                notionals[slot] += other.notionals[slot];
+            }
+        }
+
+        Map<SymbolSide, Totals> toMap(final String[] symbols) {
+            final Map<SymbolSide, Totals> totals = new LinkedHashMap<>();
+            for (int code = 0; code < symbols.length; code++) {
+                for (byte side = OrderColumns.BUY; side <= OrderColumns.SELL; side++) {
+                    final int slot = (code << 1) | side;
+                    if (slot < counts.length && counts[slot] > 0) {
+                        totals.put(new SymbolSide(symbols[code], OrderColumns.sideName(side)),
+                                   new Totals(counts[slot], quantities[slot], notionals[slot]));
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(totals);
+        }
+
+        private void grow(final int minLength) {
+            final int length = Math.max(minLength, counts.length * 2);
+            counts = Arrays.copyOf(counts, length);
+            quantities = Arrays.copyOf(quantities, length);
+            notionals = Arrays.copyOf(notionals, length);
+        }
+    }
+
+    static final class Accumulators {
+
+        private final int symbols;
+        private final Queue<Accumulator> all = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Accumulator> local;
+
+        Accumulators(final int symbols) {
+            this.symbols = symbols;
+            this.local = ThreadLocal.withInitial(() -> {
+                final Accumulator accumulator = new Accumulator(this.symbols);
+                all.add(accumulator);
+                return accumulator;
+            });
+        }
+
+        Accumulator local() {
+            return local.get();
+        }
+
+        Accumulator merge(final int symbols) {
+            final Accumulator merged = new Accumulator(symbols);
+            all.forEach(merged::addAll);
+            return merged;
+        }
+    }
+}
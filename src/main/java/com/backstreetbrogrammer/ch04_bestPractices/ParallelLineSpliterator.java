@@ -0,0 +1,208 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ParallelLineSpliterator<T> implements Spliterator<T> {
+
+    private static final int MIN_SPLIT_BYTES = 1024;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    @FunctionalInterface
+    interface LineFactory<T> {
+        T create(MappedText text, long start, long end);
+    }
+
+    private final MappedText text;
+    private final LineFactory<T> lineFactory;
+    private long from;
+    private final long to;
+
+    private ParallelLineSpliterator(final MappedText text, final LineFactory<T> lineFactory,
+                                    final long from, final long to) {
+        this.text = text;
+        this.lineFactory = lineFactory;
+        this.from = from;
+        this.to = to;
+    }
+
+    public static Stream<String> lines(final Path path, final boolean parallel) throws IOException {
+        return stream(path, parallel, MappedText::decode);
+    }
+
+    // zero-copy view over the mapped bytes, decoding each byte as ISO-8859-1 (exact for ASCII input)
+    public static Stream<CharSequence> charSequences(final Path path, final boolean parallel) throws IOException {
+        return stream(path, parallel, ByteCharSequence::new);
+    }
+
+    private static <T> Stream<T> stream(final Path path, final boolean parallel,
+                                        final LineFactory<T> lineFactory) throws IOException {
+        final MappedText text = MappedText.map(path);
+        return StreamSupport.stream(new ParallelLineSpliterator<>(text, lineFactory, 0L, text.length()), parallel)
+                            .onClose(text::close);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (to - from < MIN_SPLIT_BYTES) {
+            return null;
+        }
+        final long mid = from + ((to - from) >>> 1);
+        final long newline = text.indexOf(LF, mid, to);
+        if (newline < 0 || newline + 1 >= to) {
+            return null;
+        }
+        final ParallelLineSpliterator<T> prefix = new ParallelLineSpliterator<>(text, lineFactory, from, newline + 1);
+        from = newline + 1;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+        final long newline = text.indexOf(LF, from, to);
+        final long next = newline < 0 ? to : newline;
+        long end = next;
+        if (end > from && text.get(end - 1) == CR) {
+            end--;
+        }
+        final long start = from;
+        from = newline < 0 ? to : newline + 1;
+        action.accept(lineFactory.create(text, start, end));
+        return true;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    static final class MappedText {
+
+        // a single MappedByteBuffer is limited to 2 GB, so large files are mapped in 1 GB regions
+        private static final int REGION_SHIFT = 30;
+        private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+        private final FileChannel channel;
+        private final MappedByteBuffer[] regions;
+        private final long length;
+
+        private MappedText(final FileChannel channel, final MappedByteBuffer[] regions, final long length) {
+            this.channel = channel;
+            this.regions = regions;
+            this.length = length;
+        }
+
+        static MappedText map(final Path path) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                final long length = channel.size();
+                final int regionCount = (int) ((length + REGION_MASK) >>> REGION_SHIFT);
+                final MappedByteBuffer[] regions = new MappedByteBuffer[regionCount];
+                for (int i = 0; i < regionCount; i++) {
+                    final long position = (long) i << REGION_SHIFT;
+                    regions[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                             position,
+                                             Math.min(1L << REGION_SHIFT, length - position));
+                }
+                return new MappedText(channel, regions, length);
+            } catch (final IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long length() {
+            return length;
+        }
+
+        byte get(final long position) {
+            return regions[(int) (position >>> REGION_SHIFT)].get((int) (position & REGION_MASK));
+        }
+
+        long indexOf(final byte b, final long fromPosition, final long toPosition) {
+            for (long position = fromPosition; position < toPosition; position++) {
+                if (get(position) == b) {
+                    return position;
+                }
+            }
+            return -1L;
+        }
+
+        static String decode(final MappedText text, final long start, final long end) {
+            final byte[] bytes = new byte[(int) (end - start)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = text.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static final class ByteCharSequence implements CharSequence {
+
+        private final MappedText text;
+        private final long start;
+        private final int length;
+
+        ByteCharSequence(final MappedText text, final long start, final long end) {
+            this.text = text;
+            this.start = start;
+            this.length = (int) (end - start);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            return (char) (text.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int startIndex, final int endIndex) {
+            if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+                throw new IndexOutOfBoundsException("Start: " + startIndex + ", End: " + endIndex + ", Length: " + length);
+            }
+            return new ByteCharSequence(text, start + startIndex, start + endIndex);
+        }
+
+        @Override
+        public String toString() {
+            final byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = text.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
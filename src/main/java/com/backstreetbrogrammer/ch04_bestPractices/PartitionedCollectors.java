@@ -0,0 +1,378 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public final class PartitionedCollectors {
+
+    private static final int DEFAULT_SHARDS = shardsFor(Runtime.getRuntime().availableProcessors() * 4);
+    private static final int FIRST_SEGMENT_PAIRS = 8;
+    private static final int MAX_SEGMENT_PAIRS = 1024;
+
+    private PartitionedCollectors() {
+    }
+
+    public static <T> Collector<T, ?, Set<T>> toSet() {
+        return toSet(DEFAULT_SHARDS);
+    }
+
+    public static <T> Collector<T, ?, Set<T>> toSet(final int shards) {
+        final int shardCount = shardsFor(shards);
+        return new PartitionedCollector<T, T, Set<T>>(
+                shardCount,
+                Function.identity(),
+                buckets -> {
+                    @SuppressWarnings({"unchecked", "rawtypes"}) final Set<T>[] sets = new Set[shardCount];
+                    buildShards(shardCount, shard -> {
+                        final Set<T> set = new HashSet<>();
+                        buckets.forEachPair(shard, (key, item) -> set.add(key));
+                        sets[shard] = set;
+                    });
+                    return new ShardedSet<>(sets);
+                },
+                EnumSet.of(Collector.Characteristics.UNORDERED));
+    }
+
+    public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(final Function<? super T, ? extends K> keyMapper,
+                                                             final Function<? super T, ? extends U> valueMapper) {
+        return toMap(keyMapper, valueMapper, (u1, u2) -> {
+            throw new IllegalStateException("Duplicate key (attempted merging values " + u1 + " and " + u2 + ")");
+        });
+    }
+
+    public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(final Function<? super T, ? extends K> keyMapper,
+                                                             final Function<? super T, ? extends U> valueMapper,
+                                                             final BinaryOperator<U> mergeFunction) {
+        return toMap(keyMapper, valueMapper, mergeFunction, DEFAULT_SHARDS);
+    }
+
+    public static <T, K, U> Collector<T, ?, Map<K, U>> toMap(final Function<? super T, ? extends K> keyMapper,
+                                                             final Function<? super T, ? extends U> valueMapper,
+                                                             final BinaryOperator<U> mergeFunction,
+                                                             final int shards) {
+        Objects.requireNonNull(valueMapper);
+        Objects.requireNonNull(mergeFunction);
+        final int shardCount = shardsFor(shards);
+        return new PartitionedCollector<T, K, Map<K, U>>(
+                shardCount,
+                keyMapper,
+                buckets -> {
+                    @SuppressWarnings({"unchecked", "rawtypes"}) final Map<K, U>[] maps = new Map[shardCount];
+                    buildShards(shardCount, shard -> {
+                        final Map<K, U> map = new HashMap<>();
+                        buckets.forEachPair(shard, (key, item) -> map.merge(key,
+                                                                            Objects.requireNonNull(valueMapper.apply(item)),
+                                                                            mergeFunction));
+                        maps[shard] = map;
+                    });
+                    return new ShardedMap<>(maps);
+                },
+                EnumSet.noneOf(Collector.Characteristics.class));
+    }
+
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingBy(final Function<? super T, ? extends K> classifier) {
+        return groupingBy(classifier, Collectors.toList());
+    }
+
+    public static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingBy(final Function<? super T, ? extends K> classifier,
+                                                                    final Collector<? super T, A, D> downstream) {
+        return groupingBy(classifier, downstream, DEFAULT_SHARDS);
+    }
+
+    public static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingBy(final Function<? super T, ? extends K> classifier,
+                                                                    final Collector<? super T, A, D> downstream,
+                                                                    final int shards) {
+        final Supplier<A> supplier = downstream.supplier();
+        final BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+        final Function<A, D> finisher = downstream.finisher();
+        final int shardCount = shardsFor(shards);
+        return new PartitionedCollector<T, K, Map<K, D>>(
+                shardCount,
+                classifier,
+                buckets -> {
+                    @SuppressWarnings({"unchecked", "rawtypes"}) final Map<K, D>[] maps = new Map[shardCount];
+                    buildShards(shardCount, shard -> {
+                        final Map<K, A> containers = new HashMap<>();
+                        buckets.forEachPair(shard, (key, item) ->
+                                accumulator.accept(containers.computeIfAbsent(key, k -> supplier.get()), item));
+                        final Map<K, D> map = new HashMap<>(containers.size() * 4 / 3 + 1);
+                        containers.forEach((key, container) -> map.put(key, finisher.apply(container)));
+                        maps[shard] = map;
+                    });
+                    return new ShardedMap<>(maps);
+                },
+                EnumSet.noneOf(Collector.Characteristics.class));
+    }
+
+    static int shardsFor(final int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Illegal shards: " + shards);
+        }
+        return shards == 1 ? 1 : Integer.highestOneBit(shards - 1) << 1;
+    }
+
+    // uses the high bits of the mixed hash so keys inside a shard still spread over the low bits HashMap relies on
+    static int shardOf(final Object key, final int shards) {
+        if (shards == 1) {
+            return 0;
+        }
+        final int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h >>> (32 - Integer.numberOfTrailingZeros(shards));
+    }
+
+    private static void buildShards(final int shards, final IntConsumer buildShard) {
+        IntStream.range(0, shards)
+                 .parallel()
+                 .forEach(buildShard);
+    }
+
+    private static final class PartitionedCollector<T, K, R> implements Collector<T, Buckets<K, T>, R> {
+
+        private final int shards;
+        private final Function<? super T, ? extends K> keyMapper;
+        private final Function<Buckets<K, T>, R> finisher;
+        private final Set<Characteristics> characteristics;
+
+        PartitionedCollector(final int shards,
+                             final Function<? super T, ? extends K> keyMapper,
+                             final Function<Buckets<K, T>, R> finisher,
+                             final Set<Characteristics> characteristics) {
+            this.shards = shards;
+            this.keyMapper = Objects.requireNonNull(keyMapper);
+            this.finisher = finisher;
+            this.characteristics = Collections.unmodifiableSet(characteristics);
+        }
+
+        @Override
+        public Supplier<Buckets<K, T>> supplier() {
+            return () -> new Buckets<>(shards);
+        }
+
+        @Override
+        public BiConsumer<Buckets<K, T>, T> accumulator() {
+            return (buckets, item) -> buckets.add(keyMapper.apply(item), item);
+        }
+
+        @Override
+        public BinaryOperator<Buckets<K, T>> combiner() {
+            return Buckets::append;
+        }
+
+        @Override
+        public Function<Buckets<K, T>, R> finisher() {
+            return finisher;
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return characteristics;
+        }
+    }
+
+    // one linked chain of fixed-size (key, item) segments per shard: appending is O(1) and
+    // combining two containers links the chains, which is O(shards) whatever the number of elements
+    static final class Buckets<K, T> {
+
+        private final Segment[] heads;
+        private final Segment[] tails;
+
+        Buckets(final int shards) {
+            heads = new Segment[shards];
+            tails = new Segment[shards];
+        }
+
+        void add(final K key, final T item) {
+            final int shard = shardOf(key, heads.length);
+            Segment tail = tails[shard];
+            if (tail == null || tail.isFull()) {
+                final Segment segment = new Segment(tail == null ? FIRST_SEGMENT_PAIRS
+                                                                 : Math.min(MAX_SEGMENT_PAIRS, tail.pairs.length));
+                if (tail == null) {
+                    heads[shard] = segment;
+                } else {
+                    tail.next = segment;
+                }
+                tails[shard] = segment;
+                tail = segment;
+            }
+            tail.add(key, item);
+        }
+
+        Buckets<K, T> append(final Buckets<K, T> other) {
+            for (int shard = 0; shard < heads.length; shard++) {
+                if (other.heads[shard] == null) {
+                    continue;
+                }
+                if (heads[shard] == null) {
+                    heads[shard] = other.heads[shard];
+                } else {
+                    tails[shard].next = other.heads[shard];
+                }
+                tails[shard] = other.tails[shard];
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEachPair(final int shard, final BiConsumer<K, T> action) {
+            for (Segment segment = heads[shard]; segment != null; segment = segment.next) {
+                final Object[] pairs = segment.pairs;
+                for (int i = 0; i < segment.size; i += 2) {
+                    action.accept((K) pairs[i], (T) pairs[i + 1]);
+                }
+            }
+        }
+
+        private static final class Segment {
+
+            private final Object[] pairs;
+            private int size;
+            private Segment next;
+
+            // segments start small and double, so sparsely used shards stay cheap
+            Segment(final int pairCount) {
+                pairs = new Object[pairCount * 2];
+            }
+
+            boolean isFull() {
+                return size == pairs.length;
+            }
+
+            void add(final Object key, final Object item) {
+                pairs[size++] = key;
+                pairs[size++] = item;
+            }
+        }
+    }
+
+    static final class ShardedSet<E> extends AbstractSet<E> {
+
+        private final Set<E>[] shards;
+        private final int size;
+
+        ShardedSet(final Set<E>[] shards) {
+            this.shards = shards;
+            int total = 0;
+            for (final Set<E> shard : shards) {
+                total += shard.size();
+            }
+            this.size = total;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return shards[shardOf(o, shards.length)].contains(o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            final List<Iterator<E>> iterators = new ArrayList<>(shards.length);
+            for (final Set<E> shard : shards) {
+                iterators.add(Collections.unmodifiableSet(shard).iterator());
+            }
+            return new ConcatIterator<>(iterators);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    static final class ShardedMap<K, V> extends AbstractMap<K, V> {
+
+        private final Map<K, V>[] shards;
+        private final int size;
+
+        ShardedMap(final Map<K, V>[] shards) {
+            this.shards = shards;
+            int total = 0;
+            for (final Map<K, V> shard : shards) {
+                total += shard.size();
+            }
+            this.size = total;
+        }
+
+        @Override
+        public V get(final Object key) {
+            return shards[shardOf(key, shards.length)].get(key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return shards[shardOf(key, shards.length)].containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    final List<Iterator<Entry<K, V>>> iterators = new ArrayList<>(shards.length);
+                    for (final Map<K, V> shard : shards) {
+                        iterators.add(Collections.unmodifiableMap(shard).entrySet().iterator());
+                    }
+                    return new ConcatIterator<>(iterators);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    private static final class ConcatIterator<E> implements Iterator<E> {
+
+        private final List<Iterator<E>> iterators;
+        private int current;
+
+        ConcatIterator(final List<Iterator<E>> iterators) {
+            this.iterators = iterators;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current < iterators.size()) {
+                if (iterators.get(current).hasNext()) {
+                    return true;
+                }
+                current++;
+            }
+            return false;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterators.get(current).next();
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -35,6 +37,8 @@ public class SourceSplitBenchmarking {
     List<String> lineList;
     Set<Integer> intSet;
     List<Integer> intList;
+    CompactSet<String> compactLineSet;
+    CompactSet<Integer> compactIntSet;
 
     @Setup
     public void readLines() {
@@ -44,6 +48,7 @@ public class SourceSplitBenchmarking {
             e.printStackTrace();
         }
         this.lineList = new ArrayList<>(this.lineSet);
+        this.compactLineSet = CompactSet.copyOf(this.lineSet);
     }
 
     @Setup
@@ -60,6 +65,7 @@ public class SourceSplitBenchmarking {
                           .map(i -> random.nextInt())
                           .boxed()
                           .collect(Collectors.toSet());
+        compactIntSet = CompactSet.copyOf(intSet);
     }
 
     @Benchmark
@@ -126,6 +132,94 @@ public class SourceSplitBenchmarking {
                       .sum();
     }
 
+    @Benchmark
+    public Object process_string_compact_set() {
+        return compactLineSet.stream()
+                             .map(String::toUpperCase)
+                             .mapToInt(String::length)
+                             .sum();
+    }
+
+    @Benchmark
+    public Object process_string_compact_set_parallel() {
+        return compactLineSet.stream()
+                             .map(String::toUpperCase)
+                             .mapToInt(String::length)
+                             .parallel()
+                             .sum();
+    }
+
+    @Benchmark
+    public Object process_int_compact_set() {
+        return compactIntSet.stream()
+                            .mapToInt(i -> i * 3)
+                            .sum();
+    }
+
+    @Benchmark
+    public Object process_int_compact_set_parallel() {
+        return compactIntSet.stream()
+                            .mapToInt(i -> i * 3)
+                            .parallel()
+                            .sum();
+    }
+
+    @State(Scope.Benchmark)
+    public static class GeneratedWordsFile {
+
+        @Param({"2048"})
+        int SIZE_MB;
+
+        Path path;
+
+        @Setup
+        public void generate() throws IOException {
+            final List<String> words = Files.readAllLines(Path.of("src", "main", "resources", "words.txt"));
+            final long targetBytes = SIZE_MB * 1024L * 1024L;
+            path = Files.createTempFile("words", ".txt");
+            long written = 0L;
+            try (final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                while (written < targetBytes) {
+                    for (final String word : words) {
+                        writer.write(word);
+                        writer.newLine();
+                        written += word.length() + 1;
+                    }
+                }
+            }
+        }
+
+        @TearDown
+        public void delete() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public long read_lines_files_lines_parallel(final GeneratedWordsFile file) throws IOException {
+        try (final Stream<String> lines = Files.lines(file.path)) {
+            return lines.parallel()
+                        .mapToLong(String::length)
+                        .sum();
+        }
+    }
+
+    @Benchmark
+    public long read_lines_mapped_parallel(final GeneratedWordsFile file) throws IOException {
+        try (final Stream<String> lines = ParallelLineSpliterator.lines(file.path, true)) {
+            return lines.mapToLong(String::length)
+                        .sum();
+        }
+    }
+
+    @Benchmark
+    public long read_char_sequences_mapped_parallel(final GeneratedWordsFile file) throws IOException {
+        try (final Stream<CharSequence> lines = ParallelLineSpliterator.charSequences(file.path, true)) {
+            return lines.mapToLong(CharSequence::length)
+                        .sum();
+        }
+    }
+
     public static void main(final String[] args) throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(SourceSplitBenchmarking.class.getName())
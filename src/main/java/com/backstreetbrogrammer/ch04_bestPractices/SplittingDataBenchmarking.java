@@ -25,12 +25,16 @@ public class SplittingDataBenchmarking {
 
     private final List<Integer> arrayListOfNumbers = new ArrayList<>();
     private final List<Integer> linkedListOfNumbers = new LinkedList<>();
+    private final List<Integer> chunkedListOfNumbers = new ChunkedList<>();
+    private final ChunkedIntList chunkedIntListOfNumbers = new ChunkedIntList();
 
     @Setup
     public void setup() {
         IntStream.rangeClosed(1, N).forEach(i -> {
             arrayListOfNumbers.add(i);
             linkedListOfNumbers.add(i);
+            chunkedListOfNumbers.add(i);
+            chunkedIntListOfNumbers.add(i);
         });
     }
 
@@ -54,6 +58,26 @@ public class SplittingDataBenchmarking {
         return linkedListOfNumbers.parallelStream().reduce(0, Integer::sum);
     }
 
+    @Benchmark
+    public double sum_chunkedList_sequential() {
+        return chunkedListOfNumbers.stream().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public double sum_chunkedList_parallel() {
+        return chunkedListOfNumbers.parallelStream().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public double sum_chunkedIntList_sequential() {
+        return chunkedIntListOfNumbers.stream().sum();
+    }
+
+    @Benchmark
+    public double sum_chunkedIntList_parallel() {
+        return chunkedIntListOfNumbers.parallelStream().sum();
+    }
+
     public static void main(final String[] args) throws RunnerException {
         final Options opt = new OptionsBuilder()
                 .include(SplittingDataBenchmarking.class.getName())
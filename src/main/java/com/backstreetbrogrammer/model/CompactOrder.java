@@ -0,0 +1,98 @@
+package com.backstreetbrogrammer.model;
+
+// Order variant holding the symbol as a SymbolDictionary code and the side as a byte: an instance is a
+// 40-byte object (compressed oops) with no references, and equals/hashCode only touch primitives.
+public final class CompactOrder {
+
+    private final long orderId;
+    private final int symbolCode;
+    private final double price;
+    private final int quantity;
+    private final byte side;
+
+    private CompactOrder(final long orderId, final int symbolCode, final double price, final int quantity,
+                         final byte side) {
+        this.orderId = orderId;
+        this.symbolCode = symbolCode;
+        this.price = price;
+        this.quantity = quantity;
+        this.side = side;
+    }
+
+    public static CompactOrder of(final long orderId, final String symbol, final double price, final int quantity,
+                                  final String side) {
+        return new CompactOrder(orderId, SymbolDictionary.global().code(symbol), price, quantity,
+                                Side.of(side).code());
+    }
+
+    public static CompactOrder of(final long orderId, final int symbolCode, final double price, final int quantity,
+                                  final Side side) {
+        return new CompactOrder(orderId, symbolCode, price, quantity, side.code());
+    }
+
+    public static CompactOrder of(final Order order) {
+        return of(order.getOrderId(), order.getSymbol(), order.getPrice(), order.getQuantity(), order.getSide());
+    }
+
+    public Order toOrder() {
+        return new Order(orderId, getSymbol(), price, quantity, getSide().name());
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public int getSymbolCode() {
+        return symbolCode;
+    }
+
+    public String getSymbol() {
+        return SymbolDictionary.global().symbol(symbolCode);
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Side getSide() {
+        return Side.of(side);
+    }
+
+    public byte getSideCode() {
+        return side;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final CompactOrder order = (CompactOrder) o;
+        return orderId == order.orderId && symbolCode == order.symbolCode && quantity == order.quantity
+                && side == order.side && Double.doubleToLongBits(price) == Double.doubleToLongBits(order.price);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(orderId);
+        result = 31 * result + symbolCode;
+        result = 31 * result + Double.hashCode(price);
+        result = 31 * result + quantity;
+        result = 31 * result + side;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactOrder{" +
+                "orderId=" + orderId +
+                ", symbol='" + getSymbol() + '\'' +
+                ", price=" + price +
+                ", quantity=" + quantity +
+                ", side='" + getSide() + '\'' +
+                '}';
+    }
+}
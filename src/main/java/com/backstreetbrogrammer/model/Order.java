@@ -1,31 +1,46 @@
 package com.backstreetbrogrammer.model;
 
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class Order {
 
-    private final int orderId;
+    private final long orderId;
     private final String symbol;
     private final double price;
     private final int quantity;
     private final String side;
 
-    private static final AtomicInteger counter = new AtomicInteger(1);
+    private static volatile OrderIdGenerator idGenerator = OrderIdGenerator.blocks(1L);
 
     public Order(final String symbol, final double price, final int quantity, final String side) {
+        this(idGenerator.nextId(), symbol, price, quantity, side);
+    }
+
+    public Order(final OrderIdGenerator generator, final String symbol, final double price, final int quantity,
+                 final String side) {
+        this(generator.nextId(), symbol, price, quantity, side);
+    }
+
+    public Order(final long orderId, final String symbol, final double price, final int quantity, final String side) {
+        this.orderId = orderId;
         this.symbol = symbol;
         this.price = price;
         this.quantity = quantity;
         this.side = side;
-
-        orderId = counter.getAndIncrement();
     }
 
-    public int getOrderId() {
+    public long getOrderId() {
         return orderId;
     }
 
+    public static OrderIdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    public static void setIdGenerator(final OrderIdGenerator generator) {
+        idGenerator = Objects.requireNonNull(generator);
+    }
+
     public String getSymbol() {
         return symbol;
     }
@@ -47,12 +62,20 @@ public class Order {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final Order order = (Order) o;
-        return orderId == order.orderId && Objects.equals(symbol, order.symbol) && Objects.equals(price, order.price) && Objects.equals(quantity, order.quantity) && Objects.equals(side, order.side);
+        return orderId == order.orderId && quantity == order.quantity
+                && Double.doubleToLongBits(price) == Double.doubleToLongBits(order.price)
+                && Objects.equals(symbol, order.symbol) && Objects.equals(side, order.side);
     }
 
+    // same value as Objects.hash(orderId, symbol, price, quantity, side) without boxing into a varargs array
     @Override
     public int hashCode() {
-        return Objects.hash(orderId, symbol, price, quantity, side);
+        int result = 31 + Long.hashCode(orderId);
+        result = 31 * result + Objects.hashCode(symbol);
+        result = 31 * result + Double.hashCode(price);
+        result = 31 * result + quantity;
+        result = 31 * result + Objects.hashCode(side);
+        return result;
     }
 
     @Override
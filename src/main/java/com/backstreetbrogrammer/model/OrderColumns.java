@@ -0,0 +1,241 @@
+package com.backstreetbrogrammer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+public class OrderColumns {
+
+    public static final byte BUY = 0;
+    public static final byte SELL = 1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] orderIds;
+    private int[] symbolCodes;
+    private double[] prices;
+    private int[] quantities;
+    private byte[] sides;
+    private int size;
+
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<String, Integer> symbolCodesByName = new HashMap<>();
+
+    public OrderColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public OrderColumns(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        orderIds = new long[initialCapacity];
+        symbolCodes = new int[initialCapacity];
+        prices = new double[initialCapacity];
+        quantities = new int[initialCapacity];
+        sides = new byte[initialCapacity];
+    }
+
+    public static OrderColumns of(final Collection<Order> orders) {
+        final OrderColumns columns = new OrderColumns(orders.size());
+        for (final Order order : orders) {
+            columns.add(order);
+        }
+        return columns;
+    }
+
+    public int add(final Order order) {
+        return add(order.getOrderId(), order.getSymbol(), order.getPrice(), order.getQuantity(), order.getSide());
+    }
+
+    public int add(final long orderId, final String symbol, final double price, final int quantity, final String side) {
+        ensureCapacity(size + 1);
+        final int row = size;
+        orderIds[row] = orderId;
+        symbolCodes[row] = symbolCode(symbol);
+        prices[row] = price;
+        quantities[row] = quantity;
+        sides[row] = sideCode(side);
+        size++;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getOrderId(final int row) {
+        return orderIds[checkRow(row)];
+    }
+
+    public int getSymbolCode(final int row) {
+        return symbolCodes[checkRow(row)];
+    }
+
+    public String getSymbol(final int row) {
+        return symbols.get(symbolCodes[checkRow(row)]);
+    }
+
+    public double getPrice(final int row) {
+        return prices[checkRow(row)];
+    }
+
+    public int getQuantity(final int row) {
+        return quantities[checkRow(row)];
+    }
+
+    public byte getSide(final int row) {
+        return sides[checkRow(row)];
+    }
+
+    public int symbolCount() {
+        return symbols.size();
+    }
+
+    public String symbolOf(final int symbolCode) {
+        return symbols.get(symbolCode);
+    }
+
+    public int codeOf(final String symbol) {
+        final Integer code = symbolCodesByName.get(symbol);
+        return code == null ? -1 : code;
+    }
+
+    public static byte sideCode(final String side) {
+        if ("BUY".equalsIgnoreCase(side)) {
+            return BUY;
+        }
+        if ("SELL".equalsIgnoreCase(side)) {
+            return SELL;
+        }
+        throw new IllegalArgumentException("Unknown side: " + side);
+    }
+
+    public static String sideName(final byte side) {
+        return side == BUY ? "BUY" : "SELL";
+    }
+
+    public Spliterator.OfInt rowSpliterator() {
+        return new RowSpliterator(0, size);
+    }
+
+    public IntStream rows(final boolean parallel) {
+        return StreamSupport.intStream(rowSpliterator(), parallel);
+    }
+
+    public IntStream quantities(final boolean parallel) {
+        final IntStream stream = Arrays.stream(quantities, 0, size);
+        return parallel ? stream.parallel() : stream;
+    }
+
+    public long count(final IntPredicate rowFilter, final boolean parallel) {
+        return rows(parallel).filter(rowFilter).count();
+    }
+
+    public long countQuantityAtLeast(final int qty, final boolean parallel) {
+        final int[] column = quantities;
+        return rows(parallel).filter(row -> column[row] >= qty).count();
+    }
+
+    public long countQuantityAtLeast(final int qty) {
+        long count = 0L;
+        final int[] column = quantities;
+        for (int row = 0; row < size; row++) {
+            if (column[row] >= qty) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int symbolCode(final String symbol) {
+        return symbolCodesByName.computeIfAbsent(symbol, s -> {
+            symbols.add(s);
+            return symbols.size() - 1;
+        });
+    }
+
+    private int checkRow(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return row;
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity <= orderIds.length) {
+            return;
+        }
+        final int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, orderIds.length + (orderIds.length >> 1)));
+        orderIds = Arrays.copyOf(orderIds, newCapacity);
+        symbolCodes = Arrays.copyOf(symbolCodes, newCapacity);
+        prices = Arrays.copyOf(prices, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        sides = Arrays.copyOf(sides, newCapacity);
+    }
+
+    static final class RowSpliterator implements Spliterator.OfInt {
+
+        private int from;
+        private final int to;
+
+        RowSpliterator(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            final int mid = (from + to) >>> 1;
+            if (mid <= from) {
+                return null;
+            }
+            final RowSpliterator prefix = new RowSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (from < to) {
+                action.accept(from++);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            final int hi = to;
+            int i = from;
+            from = hi;
+            for (; i < hi; i++) {
+                action.accept(i);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT | SORTED;
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.backstreetbrogrammer.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Fixed-width little-endian layout:
+//   header : int magic | int version | long recordCount                      (16 bytes)
+//   record : long orderId | byte[8] symbol | double price | int quantity | byte side | padding  (32 bytes)
+public class OrderFile implements Closeable {
+
+    public static final int MAGIC = 0x4F524446; // "ORDF"
+    public static final int VERSION = 2;
+
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 32;
+    public static final int SYMBOL_BYTES = 8;
+
+    private static final int ORDER_ID_OFFSET = 0;
+    private static final int SYMBOL_OFFSET = 8;
+    private static final int PRICE_OFFSET = 16;
+    private static final int QUANTITY_OFFSET = 24;
+    private static final int SIDE_OFFSET = 28;
+
+    // a single MappedByteBuffer is limited to 2 GB, so the records are mapped in 1 GB record-aligned chunks
+    private static final int RECORDS_PER_CHUNK_SHIFT = 25;
+    private static final int RECORDS_PER_CHUNK = 1 << RECORDS_PER_CHUNK_SHIFT;
+    private static final int RECORD_SHIFT = 5;
+
+    private static final int WRITE_BATCH_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final int size;
+
+    private OrderFile(final FileChannel channel, final MappedByteBuffer[] chunks, final int size) {
+        this.channel = channel;
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    public static void write(final Path path, final Iterable<Order> orders) throws IOException {
+        try (final FileChannel out = FileChannel.open(path,
+                                                      StandardOpenOption.CREATE,
+                                                      StandardOpenOption.TRUNCATE_EXISTING,
+                                                      StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * WRITE_BATCH_RECORDS)
+                                                .order(ByteOrder.LITTLE_ENDIAN);
+            out.position(HEADER_BYTES);
+            long count = 0L;
+            for (final Order order : orders) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    flush(out, buffer);
+                }
+                putRecord(buffer, order);
+                count++;
+            }
+            flush(out, buffer);
+
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many orders: " + count);
+            }
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(count);
+            buffer.flip();
+            long position = 0L;
+            while (buffer.hasRemaining()) {
+                position += out.write(buffer, position);
+            }
+        }
+    }
+
+    public static OrderFile open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("Not an order file: " + path);
+            }
+            final int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported order file version: " + version);
+            }
+            final long count = header.getLong();
+            if (count < 0 || count > Integer.MAX_VALUE
+                    || channel.size() < HEADER_BYTES + count * RECORD_BYTES) {
+                throw new IOException("Corrupt order file: " + path);
+            }
+
+            final int size = (int) count;
+            final int chunkCount = (int) ((count + RECORDS_PER_CHUNK - 1) >>> RECORDS_PER_CHUNK_SHIFT);
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                final long firstRecord = (long) i << RECORDS_PER_CHUNK_SHIFT;
+                final long records = Math.min(RECORDS_PER_CHUNK, count - firstRecord);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                                        HEADER_BYTES + (firstRecord << RECORD_SHIFT),
+                                        records << RECORD_SHIFT);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new OrderFile(channel, chunks, size);
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static List<Order> readAll(final Path path) throws IOException {
+        try (final OrderFile file = open(path)) {
+            final List<Order> orders = new ArrayList<>(file.size());
+            for (int i = 0; i < file.size(); i++) {
+                orders.add(file.getOrder(i));
+            }
+            return orders;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getOrderId(final int record) {
+        return chunk(record).getLong(offset(record) + ORDER_ID_OFFSET);
+    }
+
+    public String getSymbol(final int record) {
+        final ByteBuffer chunk = chunk(record);
+        final int base = offset(record) + SYMBOL_OFFSET;
+        final byte[] bytes = new byte[SYMBOL_BYTES];
+        int length = 0;
+        while (length < SYMBOL_BYTES) {
+            final byte b = chunk.get(base + length);
+            if (b == 0) {
+                break;
+            }
+            bytes[length++] = b;
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    public double getPrice(final int record) {
+        return chunk(record).getDouble(offset(record) + PRICE_OFFSET);
+    }
+
+    public int getQuantity(final int record) {
+        return chunk(record).getInt(offset(record) + QUANTITY_OFFSET);
+    }
+
+    public byte getSide(final int record) {
+        return chunk(record).get(offset(record) + SIDE_OFFSET);
+    }
+
+    public Order getOrder(final int record) {
+        return new Order(getOrderId(record),
+                         getSymbol(record),
+                         getPrice(record),
+                         getQuantity(record),
+                         OrderColumns.sideName(getSide(record)));
+    }
+
+    public IntStream records(final boolean parallel) {
+        final IntStream records = IntStream.range(0, size);
+        return parallel ? records.parallel() : records;
+    }
+
+    public Stream<Order> orders(final boolean parallel) {
+        return records(parallel).mapToObj(this::getOrder);
+    }
+
+    public long count(final IntPredicate recordFilter, final boolean parallel) {
+        return records(parallel).filter(recordFilter).count();
+    }
+
+    public long countQuantityAtLeast(final int qty, final boolean parallel) {
+        return records(parallel).filter(record -> getQuantity(record) >= qty).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer chunk(final int record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record: " + record + ", Size: " + size);
+        }
+        return chunks[record >>> RECORDS_PER_CHUNK_SHIFT];
+    }
+
+    private static int offset(final int record) {
+        return (record & (RECORDS_PER_CHUNK - 1)) << RECORD_SHIFT;
+    }
+
+    private static void putRecord(final ByteBuffer buffer, final Order order) {
+        final int base = buffer.position();
+        final byte[] symbol = order.getSymbol().getBytes(StandardCharsets.US_ASCII);
+        if (symbol.length > SYMBOL_BYTES) {
+            throw new IllegalArgumentException("Symbol longer than " + SYMBOL_BYTES + " bytes: " + order.getSymbol());
+        }
+        buffer.putLong(base + ORDER_ID_OFFSET, order.getOrderId());
+        for (int i = 0; i < SYMBOL_BYTES; i++) {
+            buffer.put(base + SYMBOL_OFFSET + i, i < symbol.length ? symbol[i] : 0);
+        }
+        buffer.putDouble(base + PRICE_OFFSET, order.getPrice());
+        buffer.putInt(base + QUANTITY_OFFSET, order.getQuantity());
+        buffer.put(base + SIDE_OFFSET, OrderColumns.sideCode(order.getSide()));
+        for (int i = SIDE_OFFSET + 1; i < RECORD_BYTES; i++) {
+            buffer.put(base + i, (byte) 0);
+        }
+        buffer.position(base + RECORD_BYTES);
+    }
+
+    private static void flush(final FileChannel out, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,97 @@
+package com.backstreetbrogrammer.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@FunctionalInterface
+public interface OrderIdGenerator {
+
+    int DEFAULT_BLOCK_SIZE = 1024;
+
+    long nextId();
+
+    // one shared counter: every id is a CAS on the same cache line
+    static OrderIdGenerator atomic(final long first) {
+        final AtomicLong next = new AtomicLong(first);
+        return next::getAndIncrement;
+    }
+
+    static OrderIdGenerator blocks(final long first) {
+        return new Blocks(first, DEFAULT_BLOCK_SIZE);
+    }
+
+    static OrderIdGenerator blocks(final long first, final int blockSize) {
+        return new Blocks(first, blockSize);
+    }
+
+    static OrderIdGenerator timestampSequence() {
+        return new TimestampSequence(TimestampSequence.DEFAULT_EPOCH_MILLIS);
+    }
+
+    // Each thread leases a range of blockSize ids from the shared counter and hands them out without any
+    // further synchronization. Ids are unique and increasing per thread, but interleave across threads.
+    final class Blocks implements OrderIdGenerator {
+
+        private final AtomicLong nextBlock;
+        private final int blockSize;
+        private final ThreadLocal<long[]> lease = ThreadLocal.withInitial(() -> new long[2]);
+
+        Blocks(final long first, final int blockSize) {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("Illegal block size: " + blockSize);
+            }
+            this.nextBlock = new AtomicLong(first);
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public long nextId() {
+            // lease[0] = next id, lease[1] = end of the leased range (exclusive)
+            final long[] range = lease.get();
+            if (range[0] == range[1]) {
+                range[0] = nextBlock.getAndAdd(blockSize);
+                range[1] = range[0] + blockSize;
+            }
+            return range[0]++;
+        }
+    }
+
+    // Snowflake-style ids: | 41 bits millis since epoch | 12 bits sequence | 10 bits stripe |.
+    // Threads are hashed onto padded stripes, so threads only contend when they share a stripe; a stripe
+    // that runs out of sequence numbers within a millisecond borrows from the next one instead of spinning.
+    final class TimestampSequence implements OrderIdGenerator {
+
+        static final long DEFAULT_EPOCH_MILLIS = 1_672_531_200_000L; // 2023-01-01T00:00:00Z
+
+        private static final int STRIPE_BITS = 10;
+        private static final int SEQUENCE_BITS = 12;
+        private static final int STRIPES = 1 << STRIPE_BITS;
+        private static final int PADDING = 8;
+
+        private final long epochMillis;
+        private final AtomicLongArray last = new AtomicLongArray(STRIPES * PADDING);
+
+        TimestampSequence(final long epochMillis) {
+            this.epochMillis = epochMillis;
+        }
+
+        @Override
+        public long nextId() {
+            final long id = Thread.currentThread().getId();
+            final int stripe = (int) ((id ^ (id >>> 16)) * 0x9E3779B9L >>> 22) & (STRIPES - 1);
+            final int slot = stripe * PADDING;
+            final long now = (System.currentTimeMillis() - epochMillis) << SEQUENCE_BITS;
+            long previous;
+            long next;
+            do {
+                previous = last.get(slot);
+                next = Math.max(previous + 1, now);
+            } while (!last.compareAndSet(slot, previous, next));
+            return (next << STRIPE_BITS) | stripe;
+        }
+
+        public static long timestampMillis(final long orderId, final long epochMillis) {
+            return (orderId >>> (STRIPE_BITS + SEQUENCE_BITS)) + epochMillis;
+        }
+    }
+}
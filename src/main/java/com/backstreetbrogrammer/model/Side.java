@@ -0,0 +1,27 @@
+package com.backstreetbrogrammer.model;
+
+public enum Side {
+    BUY,
+    SELL;
+
+    private static final Side[] VALUES = values();
+
+    public static Side of(final String side) {
+        if ("BUY".equalsIgnoreCase(side)) {
+            return BUY;
+        }
+        if ("SELL".equalsIgnoreCase(side)) {
+            return SELL;
+        }
+        throw new IllegalArgumentException("Unknown side: " + side);
+    }
+
+    public static Side of(final byte code) {
+        return VALUES[code];
+    }
+
+    // same values as OrderColumns.BUY / OrderColumns.SELL
+    public byte code() {
+        return (byte) ordinal();
+    }
+}
@@ -0,0 +1,66 @@
+package com.backstreetbrogrammer.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-wide symbol <-> dense int code mapping. Lookups of known symbols are a single ConcurrentHashMap
+// read; only the first sighting of a symbol takes the lock to append it to the code -> symbol table.
+public final class SymbolDictionary {
+
+    private static final SymbolDictionary GLOBAL = new SymbolDictionary();
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] symbols = new String[64];
+    private int size;
+
+    public static SymbolDictionary global() {
+        return GLOBAL;
+    }
+
+    public int code(final String symbol) {
+        final Integer code = codes.get(symbol);
+        return code != null ? code : register(symbol);
+    }
+
+    // -1 when the symbol has never been encoded
+    public int codeIfPresent(final String symbol) {
+        final Integer code = codes.get(symbol);
+        return code == null ? -1 : code;
+    }
+
+    public String symbol(final int code) {
+        final String[] table = symbols;
+        if (code < 0 || code >= table.length || table[code] == null) {
+            throw new IllegalArgumentException("Unknown symbol code: " + code);
+        }
+        return table[code];
+    }
+
+    // canonical instance for the symbol, so equal symbols held by many orders share one String
+    public String intern(final String symbol) {
+        return symbol(code(symbol));
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private synchronized int register(final String symbol) {
+        final Integer existing = codes.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        final int code = size;
+        String[] table = symbols;
+        if (code == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+        }
+        table[code] = symbol;
+        // publish the table before the code so readers that see the code also see the symbol
+        symbols = table;
+        codes.put(symbol, code);
+        size++;
+        return code;
+    }
+}
@@ -0,0 +1,63 @@
+package com.backstreetbrogrammer.benchmark;
+
+import com.backstreetbrogrammer.benchmark.AllocationBudgets.Check;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllocationBudgetsTest {
+
+    @Test
+    @DisplayName("Budgets should be read in file order and the first matching pattern should win")
+    void testParseAndMatch() throws IOException {
+        final Map<Pattern, Double> budgets = AllocationBudgets.parseBudgets(new StringReader(
+                "# comment\n"
+                        + "\n"
+                        + "Suite\\.sum_ints$ = 0   # primitives only\n"
+                        + "Suite\\.sum.* = 1024\n"));
+        final AllocationBudgets harness = new AllocationBudgets(budgets, 1D);
+
+        assertEquals(2, budgets.size());
+        assertEquals(0D, harness.budgetFor("x.Suite.sum_ints"));
+        assertEquals(1024D, harness.budgetFor("x.Suite.sum_integers"));
+        assertNull(harness.budgetFor("x.Suite.collect"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> AllocationBudgets.parseBudgets(new StringReader("no budget here")));
+    }
+
+    @Test
+    @DisplayName("Bundled budgets should parse and cover the primitive sum pipelines")
+    void testDefaultBudgets() throws IOException {
+        final Map<Pattern, Double> budgets = AllocationBudgets.parseBudgets(new InputStreamReader(
+                AllocationBudgets.class.getResourceAsStream(AllocationBudgets.DEFAULT_BUDGETS),
+                StandardCharsets.UTF_8));
+        final AllocationBudgets harness = new AllocationBudgets(budgets, 1D);
+
+        assertEquals(0D, harness.budgetFor(
+                "com.backstreetbrogrammer.ch02_performanceGains.AutoboxingBenchmarking.calculate_sum_of_ints"));
+        assertNotNull(harness.budgetFor(
+                "com.backstreetbrogrammer.ch02_performanceGains.PointerChasingBenchmarking.calculate_sum_of_range"));
+        assertNull(harness.budgetFor(
+                "com.backstreetbrogrammer.ch02_performanceGains.PointerChasingBenchmarking"
+                        + ".calculate_sum_of_range_boxed"));
+    }
+
+    @Test
+    @DisplayName("Checks should fail above budget plus tolerance and when nothing was measured")
+    void testCheck() {
+        assertFalse(new Check("a", "{}", 1D, "us/op", 0.02D, 0D, 0D, 1D).failed());
+        assertTrue(new Check("a", "{}", 1D, "us/op", 321D, 0D, 0D, 1D).failed());
+        assertFalse(new Check("a", "{}", 1D, "us/op", 321D, 0D, 1024D, 1D).failed());
+        assertFalse(new Check("a", "{}", 1D, "us/op", 6_400_000D, 28D, null, 1D).failed());
+        assertTrue(new Check("a", "{}", 1D, "us/op", Double.NaN, Double.NaN, 0D, 1D).failed());
+        assertTrue(new Check("a", "{N=1}", 1D, "us/op", 2D, 0D, 0D, 1D).toJson().contains("\"failed\": true"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.backstreetbrogrammer.benchmark;
+
+import com.backstreetbrogrammer.benchmark.BenchmarkSweep.Comparison;
+import com.backstreetbrogrammer.benchmark.BenchmarkSweep.Record;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkSweepTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Summary files should round-trip every record field")
+    void testWriteRead() throws IOException {
+        final List<Record> records = List.of(
+                new Record("a.B.sum_parallel", "N=1000,TYPE=\"x\"", 1, 4, "avgt", "us/op", 12.5D, 0.25D),
+                new Record("a.B.create_order", "", 8, 0, "thrpt", "ops/us", 300D, Double.NaN));
+        final Path path = directory.resolve("summary.json");
+        BenchmarkSweep.write(path, "release-1", records);
+
+        final List<Record> read = BenchmarkSweep.read(path);
+        assertEquals(2, read.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(records.get(i).key(), read.get(i).key());
+            assertEquals(records.get(i).unit, read.get(i).unit);
+            assertEquals(records.get(i).score, read.get(i).score, 0D);
+        }
+        assertEquals(0.25D, read.get(0).error, 0D);
+        assertTrue(Double.isNaN(read.get(1).error));
+    }
+
+    @Test
+    @DisplayName("Regressions should respect the direction of the score unit and the threshold")
+    void testCompare() {
+        final List<Record> baseline = List.of(
+                new Record("avg", "N=10", 1, 2, "avgt", "us/op", 100D, 1D),
+                new Record("thrpt", "", 4, 2, "thrpt", "ops/us", 100D, 1D),
+                new Record("gone", "", 1, 2, "avgt", "us/op", 1D, 1D));
+        final List<Record> current = List.of(
+                new Record("avg", "N=10", 1, 2, "avgt", "us/op", 115D, 1D),
+                new Record("thrpt", "", 4, 2, "thrpt", "ops/us", 120D, 1D),
+                new Record("new", "", 1, 2, "avgt", "us/op", 1D, 1D));
+
+        final List<Comparison> comparisons = BenchmarkSweep.compare(baseline, current, 10D);
+        assertEquals(2, comparisons.size());
+        assertTrue(comparisons.get(0).isRegression());
+        assertEquals(15D, comparisons.get(0).regressionPercent(), 1e-9);
+        assertFalse(comparisons.get(1).isRegression());
+        assertTrue(comparisons.get(1).regressionPercent() < 0D);
+
+        assertFalse(BenchmarkSweep.compare(baseline, current, 20D).get(0).isRegression());
+    }
+
+    @Test
+    @DisplayName("Command line should build the sweep grid")
+    void testParse() {
+        final BenchmarkSweep sweep = BenchmarkSweep.parse(new String[]{"--n", "10,100", "--threads", "1,4"});
+        assertNotNull(sweep);
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkSweep.parse(new String[]{"--bogus", "1"}));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkSweep.parse(new String[]{"--param", "N"}));
+        assertThrows(IllegalArgumentException.class, () -> BenchmarkSweep.parse(new String[]{"--threads"}));
+    }
+}
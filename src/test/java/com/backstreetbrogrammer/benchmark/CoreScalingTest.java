@@ -0,0 +1,113 @@
+package com.backstreetbrogrammer.benchmark;
+
+import com.backstreetbrogrammer.benchmark.BenchmarkSweep.Record;
+import com.backstreetbrogrammer.benchmark.CoreScaling.Curve;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CoreScalingTest {
+
+    private static final int[] CORES = {1, 2, 4, 8, 16};
+
+    @Test
+    @DisplayName("Amdahl fit should recover the serial fraction of an ideal Amdahl curve")
+    void testAmdahlFit() {
+        final double serialFraction = 0.1D;
+        final double[] speedups = new double[CORES.length];
+        for (int i = 0; i < CORES.length; i++) {
+            speedups[i] = 1D / (serialFraction + (1D - serialFraction) / CORES[i]);
+        }
+        final Curve curve = new Curve("amdahl", CORES, speedups);
+
+        assertEquals(serialFraction, curve.amdahlSerialFraction(), 1e-9);
+        assertEquals(serialFraction, curve.karpFlatt(4), 1e-9);
+        assertEquals(1D, curve.efficiency(0), 1e-9);
+        assertEquals(speedups[3] / 8D, curve.efficiency(3), 1e-9);
+    }
+
+    @Test
+    @DisplayName("USL fit should recover contention and coherency coefficients")
+    void testUniversalScalabilityFit() {
+        final double sigma = 0.05D;
+        final double kappa = 0.002D;
+        final double[] speedups = new double[CORES.length];
+        for (int i = 0; i < CORES.length; i++) {
+            final int p = CORES[i];
+            speedups[i] = p / (1D + sigma * (p - 1) + kappa * p * (p - 1));
+        }
+        final double[] fit = new Curve("usl", CORES, speedups).universalScalability();
+
+        assertEquals(sigma, fit[0], 1e-9);
+        assertEquals(kappa, fit[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Fits should not need a single-worker run")
+    void testFitsRelativeToLargerBaseline() {
+        final double serialFraction = 0.2D;
+        final double sigma = 0.05D;
+        final double kappa = 0.002D;
+        final int[] workers = {2, 3, 5, 9, 17};
+        final double[] amdahl = new double[workers.length];
+        final double[] usl = new double[workers.length];
+        for (int i = 0; i < workers.length; i++) {
+            amdahl[i] = (serialFraction + (1D - serialFraction) / workers[0])
+                    / (serialFraction + (1D - serialFraction) / workers[i]);
+            usl[i] = uslTime(workers[0], sigma, kappa) / uslTime(workers[i], sigma, kappa);
+        }
+        final Curve amdahlCurve = new Curve("amdahl", workers, amdahl);
+        assertEquals(serialFraction, amdahlCurve.amdahlSerialFraction(), 1e-9);
+        assertEquals(serialFraction, amdahlCurve.karpFlatt(3), 1e-9);
+        assertEquals(1D, amdahlCurve.efficiency(0), 1e-9);
+
+        final double[] fit = new Curve("usl", workers, usl).universalScalability();
+        assertEquals(sigma, fit[0], 1e-9);
+        assertEquals(kappa, fit[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Records should be grouped per workload with pool size p counted as p + 1 workers")
+    void testScaleRecords() {
+        final List<Record> records = new ArrayList<>();
+        for (final int p : CORES) {
+            records.add(new Record("x.Suite.sum_parallel", "N=10", 1, p, "avgt", "us/op", 160D / (p + 1), 0D));
+            records.add(new Record("x.Suite.count", "", 1, p, "thrpt", "ops/us", 10D * Math.min(p + 1, 4), 0D));
+        }
+        records.add(new Record("x.Suite.unscaled", "", 1, 0, "avgt", "us/op", 1D, 0D));
+
+        final List<Curve> curves = CoreScaling.scale(records);
+        assertEquals(2, curves.size());
+        assertEquals("x.Suite.count ", curves.get(0).workload);
+        assertArrayEquals(new int[]{2, 3, 5, 9, 17}, curves.get(1).workers);
+        assertArrayEquals(new double[]{1D, 1.5D, 2D, 2D, 2D}, curves.get(0).speedups, 1e-9);
+        assertArrayEquals(new double[]{1D, 1.5D, 2.5D, 4.5D, 8.5D}, curves.get(1).speedups, 1e-9);
+        assertEquals(1D, curves.get(1).efficiency(4), 1e-9);
+        assertEquals(0D, curves.get(1).amdahlSerialFraction(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Core counts should double up to and include every available core")
+    void testCoreCounts() {
+        assertEquals("1", CoreScaling.coreCounts(1));
+        assertEquals("1,2,4,6", CoreScaling.coreCounts(6));
+        assertEquals("1,2,4,8", CoreScaling.coreCounts(8));
+    }
+
+    @Test
+    @DisplayName("Pool sizes should leave room for the calling thread")
+    void testPoolSizes() {
+        assertEquals("1", CoreScaling.poolSizes(1));
+        assertEquals("1,3,5", CoreScaling.poolSizes(6));
+        assertEquals("1,3,7", CoreScaling.poolSizes(8));
+    }
+
+    private static double uslTime(final int workers, final double sigma, final double kappa) {
+        return (1D + sigma * (workers - 1) + kappa * workers * (workers - 1)) / workers;
+    }
+}
@@ -0,0 +1,38 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelCountersTest {
+
+    private final List<Integer> numbers = IntStream.range(0, 1_000_000)
+                                                   .boxed()
+                                                   .collect(Collectors.toList());
+
+    @ParameterizedTest
+    @EnumSource(ParallelCounters.Strategy.class)
+    @DisplayName("Every counting strategy should agree with a sequential count")
+    void testStrategiesAgree(final ParallelCounters.Strategy strategy) {
+        assertEquals(500_000L, strategy.count(numbers, i -> i % 2 == 0));
+    }
+
+    @Test
+    @DisplayName("Striped counter should not lose increments under contention")
+    void testStripedCounter() {
+        final ParallelCounters.StripedCounter counter = new ParallelCounters.StripedCounter(4);
+        IntStream.range(0, 1_000_000)
+                 .parallel()
+                 .forEach(i -> counter.increment());
+
+        assertEquals(4, counter.stripes());
+        assertEquals(1_000_000L, counter.sum());
+    }
+}
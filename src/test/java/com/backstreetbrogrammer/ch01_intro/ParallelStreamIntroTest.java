@@ -4,14 +4,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class ParallelStreamIntroTest {
 
     private final int N = 10;
@@ -55,6 +63,43 @@ public class ParallelStreamIntroTest {
         System.out.printf("total time taken (parallel stream): %d ms%n%n", timeElapsed);
     }
 
+    @Test
+    @DisplayName("Test probablePrime() using PrimeGenerator")
+    void testProbablePrimeUsingPrimeGenerator() throws InterruptedException {
+        try (final PrimeGenerator primeGenerator = new PrimeGenerator(BIT_LENGTH, N)) {
+            assertTrue(primeGenerator.awaitCacheFull(1L, TimeUnit.MINUTES));
+
+            final Instant start = Instant.now();
+            final List<BigInteger> primes = primeGenerator.batch(N * 2);
+            final long timeElapsed = (Duration.between(start, Instant.now()).toMillis());
+            System.out.printf("total time taken (prime generator): %d ms%n%n", timeElapsed);
+
+            assertEquals(N * 2, primes.size());
+            assertTrue(primes.stream().allMatch(p -> p.bitLength() == BIT_LENGTH && p.isProbablePrime(50)));
+            // a full cache of N serves at least half of a 2N batch
+            assertTrue(primeGenerator.hitRatio() >= 0.5D);
+        }
+    }
+
+    @Test
+    @DisplayName("PrimeGenerator should draw candidates from one injected SecureRandom per thread")
+    void testPrimeGeneratorUsesInjectedSecureRandom() throws InterruptedException {
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final AtomicInteger instances = new AtomicInteger();
+        try (final PrimeGenerator primeGenerator = new PrimeGenerator(BIT_LENGTH, N, 2, 4, () -> {
+            threads.add(Thread.currentThread());
+            instances.incrementAndGet();
+            return new SecureRandom();
+        })) {
+            assertTrue(primeGenerator.awaitCacheFull(1L, TimeUnit.MINUTES));
+            final List<BigInteger> primes = primeGenerator.batch(N * 4);
+
+            assertEquals(N * 4, primes.size());
+            assertTrue(primes.stream().allMatch(p -> p.bitLength() == BIT_LENGTH && p.isProbablePrime(50)));
+            assertEquals(threads.size(), instances.get());
+        }
+    }
+
     BigInteger probablePrime(final int BIT_LENGTH) {
         return BigInteger.probablePrime(BIT_LENGTH,
                                         ThreadLocalRandom.current());
@@ -0,0 +1,41 @@
+package com.backstreetbrogrammer.ch01_intro;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrimeSieveTest {
+
+    // small segments so even short ranges cross several segment boundaries
+    private final PrimeSieve primeSieve = new PrimeSieve(64, ForkJoinPool.commonPool());
+
+    @Test
+    @DisplayName("Prime counts should match the known values of pi(n)")
+    void testCountPrimes() {
+        final PrimeSieve defaultSieve = new PrimeSieve();
+
+        assertEquals(25L, defaultSieve.countPrimes(0L, 100L));
+        assertEquals(78_498L, defaultSieve.countPrimes(0L, 1_000_000L));
+        assertEquals(664_579L, defaultSieve.countPrimes(0L, 10_000_000L));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "0, 3", "2, 3", "3, 4", "1, 2", "0, 2000", "999, 5000", "1000000, 1010000"})
+    @DisplayName("Primes in arbitrary ranges should match isProbablePrime")
+    void testPrimesInRange(final long lo, final long hi) {
+        final long[] expected = LongStream.range(lo, hi)
+                                          .filter(n -> BigInteger.valueOf(n).isProbablePrime(50))
+                                          .toArray();
+
+        assertArrayEquals(expected, primeSieve.primes(lo, hi).toArray());
+        assertEquals(expected.length, primeSieve.countPrimes(lo, hi));
+    }
+}
@@ -0,0 +1,102 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveStreamsTest {
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Small pipelines should run sequentially and big ones in parallel")
+    void testDecisionsFollowSize() {
+        final AdaptiveStreams adaptive = new AdaptiveStreams(forkJoinPool, 100_000L, 1.0D);
+
+        final int small = adaptive.evaluate("small", 10, IntStream.range(0, 10), s -> s.sum());
+        final long big = adaptive.evaluate("big", 1_000_000, IntStream.range(0, 1_000_000),
+                                           s -> s.asLongStream().sum());
+
+        assertEquals(45, small);
+        assertEquals(499_999_500_000L, big);
+
+        final List<AdaptiveStreams.Decision> decisions = adaptive.decisions();
+        assertEquals(2, decisions.size());
+        assertFalse(decisions.get(0).isParallel());
+        assertTrue(decisions.get(1).isParallel());
+    }
+
+    @Test
+    @DisplayName("Parallel pipelines should run inside the configured pool")
+    void testRunsInConfiguredPool() {
+        final AdaptiveStreams adaptive = new AdaptiveStreams(forkJoinPool, 0L, 1.0D);
+
+        final List<String> threadNames = adaptive.evaluate("threads", 100_000, IntStream.range(0, 100_000).boxed(),
+                                                           s -> s.map(i -> Thread.currentThread().getName())
+                                                                 .distinct()
+                                                                 .collect(Collectors.toList()));
+
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("ForkJoinPool-")));
+    }
+
+    @Test
+    @DisplayName("Cost per element should be learned from previous runs")
+    void testLearnsCost() {
+        final AdaptiveStreams adaptive = new AdaptiveStreams(forkJoinPool, Long.MAX_VALUE, 1_000_000.0D);
+
+        adaptive.evaluate("cheap", 1_000, IntStream.range(0, 1_000), s -> s.sum());
+
+        assertTrue(adaptive.nanosPerElement("cheap") < 1_000_000.0D);
+        assertEquals(1_000_000.0D, adaptive.nanosPerElement("unknown"));
+    }
+
+    @Test
+    @DisplayName("A pipeline that is slower in parallel should be switched back to sequential")
+    void testSwitchesBackWhenParallelIsSlower() {
+        final AdaptiveStreams adaptive = new AdaptiveStreams(forkJoinPool, 0L, 1.0D, 4);
+
+        for (int i = 0; i < 12; i++) {
+            final int sum = adaptive.evaluate("slowParallel", 1_000, IntStream.range(0, 1_000), s -> {
+                if (s.isParallel()) {
+                    sleep(20L);
+                }
+                return s.sum();
+            });
+            assertEquals(499_500, sum);
+        }
+
+        final List<AdaptiveStreams.Decision> decisions = adaptive.decisions();
+        assertTrue(decisions.get(0).isParallel());
+        assertEquals("exploring sequential", decisions.get(3).getReason());
+        assertFalse(decisions.get(3).isParallel());
+        for (int i = 4; i < 12; i++) {
+            if (i == 7 || i == 11) {
+                assertEquals("exploring parallel", decisions.get(i).getReason());
+            } else {
+                assertEquals("sequential measured faster", decisions.get(i).getReason());
+                assertFalse(decisions.get(i).isParallel());
+            }
+        }
+        assertTrue(adaptive.parallelNanosPerElement("slowParallel") > adaptive.nanosPerElement("slowParallel"));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
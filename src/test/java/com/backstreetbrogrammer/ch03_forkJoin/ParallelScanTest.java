@@ -0,0 +1,100 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import com.backstreetbrogrammer.model.OrderColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelScanTest {
+
+    private final Random random = new Random(42L);
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 16_383, 16_384, 16_385, 1_000_003})
+    @DisplayName("Inclusive and exclusive int/long scans should match Arrays.parallelPrefix")
+    void testIntegralScans(final int n) {
+        final int[] ints = random.ints(n, -1_000, 1_000).toArray();
+        final int[] expectedInts = ints.clone();
+        Arrays.parallelPrefix(expectedInts, Integer::sum);
+        assertArrayEquals(expectedInts, ParallelScan.inclusive(ints));
+
+        final int[] exclusiveInts = ParallelScan.exclusive(ints);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i == 0 ? 0 : expectedInts[i - 1], exclusiveInts[i]);
+        }
+
+        final long[] longs = random.longs(n, -1_000_000_000L, 1_000_000_000L).toArray();
+        final long[] expectedLongs = longs.clone();
+        Arrays.parallelPrefix(expectedLongs, Long::sum);
+        assertArrayEquals(expectedLongs, ParallelScan.inclusive(longs));
+
+        final long[] exclusiveLongs = ParallelScan.exclusive(longs);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i == 0 ? 0L : expectedLongs[i - 1], exclusiveLongs[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Double scans should match a sequential loop within rounding")
+    void testDoubleScan() {
+        final double[] values = random.doubles(500_000, 0D, 10D).toArray();
+        final double[] inclusive = ParallelScan.inclusive(values);
+        final double[] exclusive = ParallelScan.exclusive(values);
+        double sum = 0D;
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(sum, exclusive[i], 1e-9 * Math.max(1D, sum));
+            sum += values[i];
+            assertEquals(sum, inclusive[i], 1e-9 * sum);
+        }
+    }
+
+    @Test
+    @DisplayName("Order column scans should produce running quantity, position and VWAP")
+    void testOrderColumns() {
+        final OrderColumns orders = new OrderColumns(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            orders.add(i, "AAPL", 100D + random.nextInt(100), 1 + random.nextInt(100), (i % 3) == 0 ? "SELL" : "BUY");
+        }
+
+        final long[] quantity = ParallelScan.cumulativeQuantity(orders);
+        final long[] position = ParallelScan.runningPosition(orders);
+        final double[] vwap = ParallelScan.cumulativeVwap(orders);
+        long expectedQuantity = 0L;
+        long expectedPosition = 0L;
+        double notional = 0D;
+        for (int row = 0; row < orders.size(); row++) {
+            final int qty = orders.getQuantity(row);
+            expectedQuantity += qty;
+            expectedPosition += orders.getSide(row) == OrderColumns.BUY ? qty : -qty;
+            notional += orders.getPrice(row) * qty;
+            assertEquals(expectedQuantity, quantity[row]);
+            assertEquals(expectedPosition, position[row]);
+            assertEquals(notional / expectedQuantity, vwap[row], 1e-9);
+        }
+        assertTrue(vwap[orders.size() - 1] >= 100D && vwap[orders.size() - 1] < 200D);
+    }
+
+    @Test
+    @DisplayName("Scans started inside a custom pool should stay in that pool")
+    void testInsideCustomPool() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final long[] values = new long[1_000_000];
+            Arrays.fill(values, 1L);
+            final long[] result = pool.submit(() -> ParallelScan.inclusive(values)).join();
+            assertEquals(1_000_000L, result[result.length - 1]);
+            assertEquals(1L, result[0]);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
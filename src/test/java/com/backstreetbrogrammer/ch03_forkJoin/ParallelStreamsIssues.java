@@ -97,6 +97,23 @@ public class ParallelStreamsIssues {
         forkJoinPool.shutdown();
     }
 
+    @Test
+    @DisplayName("Execute a parallel stream in a long-lived pool from the StreamPools registry")
+    void executeParallelStreamInRegisteredPool() {
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final StreamPools streamPools = StreamPools.global();
+        streamPools.register("custom", 4);
+
+        final int sum = streamPools.run("custom", () -> IntStream.range(0, 1_000_000)
+                                                                 .map(i -> i * 3)
+                                                                 .parallel()
+                                                                 .peek(i -> threadNames.add(Thread.currentThread()
+                                                                                                  .getName()))
+                                                                 .sum());
+
+        threadNames.forEach(System.out::println);
+    }
+
     @Test
     @DisplayName("Count the number of tasks each thread executed in the custom Fork-Join Pool")
     void countNumberOfTasksExecutedByEachThreadCustomForkJoinPool() throws ExecutionException, InterruptedException {
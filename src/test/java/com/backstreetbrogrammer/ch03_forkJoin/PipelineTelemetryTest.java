@@ -0,0 +1,52 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTelemetryTest {
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        forkJoinPool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Telemetry should account for every element and leaf task of an int pipeline")
+    void testIntPipelineSummary() {
+        final PipelineTelemetry.Result<Integer> result =
+                PipelineTelemetry.runInt(forkJoinPool, IntStream.range(0, 1_000_000).spliterator(),
+                                         ints -> ints.map(i -> i * 3).sum());
+        final PipelineTelemetry.Summary summary = result.getSummary();
+
+        assertEquals(IntStream.range(0, 1_000_000).map(i -> i * 3).sum(), result.getValue());
+        assertEquals(1_000_000L, summary.getElements());
+        assertEquals(1_000_000L, summary.getElementsPerWorker().values().stream().mapToLong(l -> l).sum());
+        assertTrue(summary.getLeafTasks() > 1);
+        assertTrue(summary.getMaxSplitDepth() > 0);
+        assertTrue(summary.getMinLeafSize() <= summary.getMaxLeafSize());
+        assertTrue(summary.getElementsPerWorker().keySet().stream().allMatch(n -> n.startsWith("ForkJoinPool-")));
+    }
+
+    @Test
+    @DisplayName("Telemetry should count elements pulled one at a time by short-circuiting pipelines")
+    void testShortCircuitPipeline() {
+        final List<Integer> numbers = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+
+        final PipelineTelemetry.Result<Boolean> result =
+                PipelineTelemetry.run(forkJoinPool, numbers.spliterator(),
+                                      stream -> stream.anyMatch(i -> i == 9_999));
+
+        assertTrue(result.getValue());
+        assertTrue(result.getSummary().getElements() > 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import com.backstreetbrogrammer.ch03_forkJoin.SafeReducers.IntMonoid;
+import com.backstreetbrogrammer.ch03_forkJoin.SafeReducers.LongMonoid;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SafeReducersTest {
+
+    @Test
+    @DisplayName("Built-in monoids should satisfy identity and associativity and reduce like the raw streams")
+    void testBuiltInMonoids() {
+        for (final IntMonoid monoid : List.of(IntMonoid.SUM, IntMonoid.PRODUCT, IntMonoid.MIN, IntMonoid.MAX,
+                                              IntMonoid.AND, IntMonoid.OR, IntMonoid.XOR)) {
+            SafeReducers.verify(monoid);
+            assertEquals(IntStream.range(1, 100_000).reduce(monoid.getIdentity(), monoid.getOperator()),
+                         SafeReducers.reduceVerified(IntStream.range(1, 100_000).parallel(), monoid));
+        }
+        for (final LongMonoid monoid : List.of(LongMonoid.SUM, LongMonoid.PRODUCT, LongMonoid.MIN, LongMonoid.MAX,
+                                               LongMonoid.AND, LongMonoid.OR, LongMonoid.XOR)) {
+            SafeReducers.verify(monoid);
+            assertEquals(LongStream.range(1, 100_000).reduce(monoid.getIdentity(), monoid.getOperator()),
+                         SafeReducers.reduceVerified(LongStream.range(1, 100_000).parallel(), monoid));
+        }
+    }
+
+    @Test
+    @DisplayName("Production reduce should match IntStream.sum() for arrays and streams")
+    void testReduce() {
+        final int[] numbers = IntStream.range(0, 1_000_000).toArray();
+        assertFalse(SafeReducers.VERIFY);
+        assertEquals(IntStream.of(numbers).sum(), SafeReducers.reduce(numbers, IntMonoid.SUM));
+        assertEquals(999_999, SafeReducers.reduce(numbers, IntMonoid.MAX));
+        assertEquals(LongStream.range(0, 1_000_000).sum(),
+                     SafeReducers.reduce(LongStream.range(0, 1_000_000).parallel(), LongMonoid.SUM));
+    }
+
+    @Test
+    @DisplayName("A seed that is not the identity should be rejected before it is applied once per split")
+    void testNonIdentitySeed() {
+        final IntMonoid seededSum = IntMonoid.of("sum seeded with 5", 5, Integer::sum);
+        assertThrows(IllegalArgumentException.class,
+                     () -> SafeReducers.reduceVerified(IntStream.of(1, 2, 3, 4).parallel(), seededSum));
+    }
+
+    @Test
+    @DisplayName("A non-associative accumulator should be rejected")
+    void testNonAssociativeOperator() {
+        final IntMonoid sumOfSquares = IntMonoid.of("sum of squares", 0, (i1, i2) -> i1 * i1 + i2 * i2);
+        assertThrows(IllegalArgumentException.class, () -> SafeReducers.verify(sumOfSquares));
+
+        final LongMonoid subtraction = LongMonoid.of("subtraction", 0L, (a, b) -> a - b);
+        assertThrows(IllegalArgumentException.class,
+                     () -> SafeReducers.reduceVerified(LongStream.range(0, 10).parallel(), subtraction));
+    }
+}
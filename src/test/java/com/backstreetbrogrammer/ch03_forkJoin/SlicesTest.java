@@ -0,0 +1,42 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlicesTest {
+
+    private final List<Integer> numbers = IntStream.range(0, 100_000)
+                                                   .boxed()
+                                                   .collect(Collectors.toList());
+
+    @ParameterizedTest
+    @CsvSource({"0, 0", "0, 100000", "0, 150000", "25000, 50000", "99999, 10", "100000, 5", "1, 1"})
+    @DisplayName("Slices of a SUBSIZED source should match skip/limit in encounter order")
+    void testSliceMatchesSkipLimit(final long skip, final long limit) {
+        final List<Integer> expected = numbers.stream().skip(skip).limit(limit).collect(Collectors.toList());
+
+        assertEquals(expected, Slices.slice(numbers, skip, limit).collect(Collectors.toList()));
+        assertEquals(expected.stream().mapToLong(i -> i).sum(),
+                     Slices.slice(numbers, skip, limit).mapToLong(i -> i).sum());
+
+        final int[] ints = IntStream.range(0, 100_000).toArray();
+        assertEquals(expected,
+                     Slices.slice(Arrays.spliterator(ints), skip, limit, true).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Bounded generator should produce exactly n elements")
+    void testGenerate() {
+        assertEquals(12_345L, Slices.generate(() -> "x", 12_345).count());
+        assertEquals(1_000, Slices.generate(() -> 1, 1_000).sum());
+    }
+}
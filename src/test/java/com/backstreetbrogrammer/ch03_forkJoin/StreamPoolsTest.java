@@ -0,0 +1,57 @@
+package com.backstreetbrogrammer.ch03_forkJoin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamPoolsTest {
+
+    private final StreamPools streamPools = new StreamPools();
+
+    @AfterEach
+    void tearDown() {
+        streamPools.close();
+    }
+
+    @Test
+    @DisplayName("Parallel stream should run only on the named pool's workers")
+    void testRunInNamedPool() {
+        streamPools.register("orders", 4);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        final int sum = streamPools.run("orders", () -> IntStream.range(0, 1_000_000)
+                                                                 .map(i -> i * 3)
+                                                                 .parallel()
+                                                                 .peek(i -> threadNames.add(Thread.currentThread()
+                                                                                                  .getName()))
+                                                                 .sum());
+
+        assertEquals(IntStream.range(0, 1_000_000).map(i -> i * 3).sum(), sum);
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("orders-worker-")));
+    }
+
+    @Test
+    @DisplayName("Registering a pool twice should return the same long-lived pool")
+    void testRegisterReusesPool() {
+        assertSame(streamPools.register("compute", 2), streamPools.register("compute", 2));
+        assertThrows(IllegalStateException.class, () -> streamPools.register("compute", 3));
+        assertThrows(IllegalArgumentException.class, () -> streamPools.pool("missing"));
+        assertEquals(Set.of("compute"), streamPools.names());
+    }
+
+    @Test
+    @DisplayName("Exceptions thrown by the pipeline should reach the caller")
+    void testExceptionPropagates() {
+        streamPools.register("failing", 2);
+
+        assertThrows(IllegalStateException.class, () -> streamPools.run("failing", () -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+}
@@ -0,0 +1,67 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockingStagesTest {
+
+    @Test
+    @DisplayName("Ordered mapConcurrent should keep encounter order and cap in-flight calls")
+    void testOrderedWithConcurrencyCap() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        try (final Stream<Integer> results = BlockingStages.mapConcurrent(IntStream.range(0, 200).boxed(), 8, true,
+                                                                          i -> {
+                                                                              maxRunning.accumulateAndGet(
+                                                                                      running.incrementAndGet(),
+                                                                                      Math::max);
+                                                                              sleep(200 - i);
+                                                                              running.decrementAndGet();
+                                                                              return i * 2;
+                                                                          })) {
+            assertEquals(IntStream.range(0, 200).map(i -> i * 2).boxed().collect(Collectors.toList()),
+                         results.collect(Collectors.toList()));
+        }
+        assertTrue(maxRunning.get() <= 8);
+    }
+
+    @Test
+    @DisplayName("Unordered mapConcurrent should return every result")
+    void testUnordered() {
+        try (final Stream<String> results = BlockingStages.mapConcurrent(Stream.of("a", "b", "c", "d"), 2, false,
+                                                                         String::toUpperCase)) {
+            assertEquals(Set.of("A", "B", "C", "D"), results.collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    @DisplayName("Exceptions thrown by the mapper should reach the caller")
+    void testMapperException() {
+        try (final Stream<Integer> results = BlockingStages.mapConcurrent(List.of(1, 2, 3).stream(), 2, true, i -> {
+            if (i == 2) {
+                throw new IllegalArgumentException("bad key");
+            }
+            return i;
+        })) {
+            assertThrows(IllegalArgumentException.class, () -> results.collect(Collectors.toList()));
+        }
+    }
+
+    private static void sleep(final long micros) {
+        try {
+            Thread.sleep(0L, (int) Math.min(999_999L, micros * 1_000L));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkedListTest {
+
+    private static final int N = 3 * ChunkedList.CHUNK_SIZE + 123;
+
+    @Test
+    @DisplayName("Chunked list should behave like a list across chunk boundaries")
+    void testChunkedListContents() {
+        final ChunkedList<Integer> list = new ChunkedList<>();
+        IntStream.range(0, N).forEach(list::add);
+
+        assertEquals(N, list.size());
+        assertEquals(ChunkedList.CHUNK_SIZE, list.get(ChunkedList.CHUNK_SIZE));
+        assertEquals(IntStream.range(0, N).boxed().collect(Collectors.toList()), list);
+        assertEquals(list, list.parallelStream().collect(Collectors.toList()));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(N));
+    }
+
+    @Test
+    @DisplayName("Spliterator should split exactly on chunk boundaries")
+    void testSplitOnChunkBoundary() {
+        final ChunkedList<Integer> list = new ChunkedList<>();
+        IntStream.range(0, N).forEach(list::add);
+
+        final Spliterator<Integer> suffix = list.spliterator();
+        final Spliterator<Integer> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+        assertTrue(suffix.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(0, prefix.estimateSize() % ChunkedList.CHUNK_SIZE);
+        assertEquals(N, prefix.estimateSize() + suffix.estimateSize());
+    }
+
+    @Test
+    @DisplayName("Chunked int list sums should match IntStream for sequential and parallel streams")
+    void testChunkedIntList() {
+        final ChunkedIntList list = ChunkedIntList.of(IntStream.range(0, N).toArray());
+        final long expected = IntStream.range(0, N).asLongStream().sum();
+
+        assertEquals(N, list.size());
+        assertEquals(expected, list.stream().asLongStream().sum());
+        assertEquals(expected, list.parallelStream().asLongStream().sum());
+        assertArrayEquals(IntStream.range(0, N).toArray(), list.toArray());
+        assertEquals(List.of(0, 1, 2), ChunkedIntList.of(0, 1, 2).stream().boxed().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactSetTest {
+
+    @Test
+    @DisplayName("Compact set should equal its source set and answer contains() like it")
+    void testMatchesSource() {
+        final Set<Integer> source = IntStream.range(0, 200_000)
+                                             .map(i -> i * 7919)
+                                             .boxed()
+                                             .collect(Collectors.toSet());
+        final CompactSet<Integer> set = CompactSet.copyOf(source);
+
+        assertEquals(source, set);
+        assertEquals(set, source);
+        assertEquals(source.hashCode(), set.hashCode());
+        assertTrue(set.contains(7919 * 5));
+        assertFalse(set.contains(7919 * 5 + 1));
+        assertFalse(set.contains("not an integer"));
+        assertFalse(set.contains(null));
+
+        final long sum = source.stream().mapToLong(i -> i).sum();
+        assertEquals(sum, set.stream().mapToLong(i -> i).sum());
+        assertEquals(sum, set.parallelStream().mapToLong(i -> i).sum());
+    }
+
+    @Test
+    @DisplayName("Duplicates should be dropped and strings compared by value")
+    void testDuplicatesAndStrings() {
+        final List<String> words = new ArrayList<>(Arrays.asList("alpha", "beta", "gamma", "beta"));
+        words.add(new String("alpha"));
+        final CompactSet<String> set = CompactSet.copyOf(words);
+
+        assertEquals(3, set.size());
+        assertEquals(new HashSet<>(words), set);
+        assertTrue(set.contains(new String("gamma")));
+        assertEquals(List.of("alpha", "beta", "gamma"), new ArrayList<>(set));
+        assertThrows(NullPointerException.class, () -> CompactSet.of("a", null));
+        assertThrows(UnsupportedOperationException.class, () -> set.add("delta"));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove("alpha"));
+    }
+
+    @Test
+    @DisplayName("Spliterator should split into exactly sized halves")
+    void testSpliterator() {
+        final CompactSet<Integer> set = CompactSet.copyOf(IntStream.range(0, 1_000).boxed()
+                                                                   .collect(Collectors.toSet()));
+        final Spliterator<Integer> spliterator = set.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED
+                                                          | Spliterator.DISTINCT | Spliterator.NONNULL));
+
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        assertEquals(500L, prefix.getExactSizeIfKnown());
+        assertEquals(500L, spliterator.getExactSizeIfKnown());
+    }
+}
@@ -0,0 +1,59 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntHashSetTest {
+
+    @Test
+    @DisplayName("Add and contains should behave like a set, including the value zero")
+    void testAddContains() {
+        final IntHashSet set = new IntHashSet();
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.add(-7));
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-7));
+        assertFalse(set.contains(7));
+    }
+
+    @Test
+    @DisplayName("Parallel collect should produce the same elements as Collectors.toSet()")
+    void testParallelCollectMatchesToSet() {
+        final int[] values = new Random(11L).ints(1_000_000, -50_000, 50_000).toArray();
+        final Set<Integer> expected = Arrays.stream(values).boxed().collect(Collectors.toSet());
+
+        final IntHashSet fromIntStream = IntHashSet.collect(Arrays.stream(values).parallel());
+        final IntHashSet fromCollector = Arrays.stream(values)
+                                               .boxed()
+                                               .parallel()
+                                               .collect(IntHashSet.toIntHashSet());
+
+        assertEquals(expected.size(), fromIntStream.size());
+        assertEquals(fromIntStream, fromCollector);
+        assertEquals(expected, fromIntStream.stream().boxed().collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Set should keep every element across many resizes")
+    void testGrowth() {
+        final IntHashSet set = IntHashSet.collect(IntStream.range(0, 100_000));
+
+        assertEquals(100_000, set.size());
+        assertTrue(IntStream.range(0, 100_000).allMatch(set::contains));
+        assertFalse(set.contains(100_000));
+    }
+}
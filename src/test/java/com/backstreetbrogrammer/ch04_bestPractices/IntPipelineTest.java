@@ -0,0 +1,99 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import com.backstreetbrogrammer.ch03_forkJoin.SafeReducers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IntPipelineTest {
+
+    private final Random random = new Random(42L);
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4_095, 4_096, 4_097, 1_000_003})
+    @DisplayName("Map-only and filtered pipelines should match IntStream sequentially and in parallel")
+    void testMatchesIntStream(final int n) {
+        final int[] values = random.ints(n, -1_000_000, 1_000_000).toArray();
+        for (final boolean parallel : new boolean[]{false, true}) {
+            final IntPipeline source = parallel ? IntPipeline.of(values).parallel() : IntPipeline.of(values);
+            assertEquals(parallel, source.isParallel());
+
+            final IntPipeline mapped = source.map(i -> i * 7).map(i -> i - 3);
+            assertEquals(Arrays.stream(values).map(i -> i * 7 - 3).sum(), mapped.sum());
+            assertEquals(Arrays.stream(values).asLongStream().map(i -> i * 7 - 3).sum(), mapped.sumAsLong());
+            assertEquals(n, mapped.count());
+            assertArrayEquals(Arrays.stream(values).map(i -> i * 7 - 3).toArray(), mapped.toArray());
+
+            final IntPipeline filtered = source.map(i -> i * 7).filter(i -> (i & 1) == 0).map(i -> i / 2);
+            final int[] expected = Arrays.stream(values).map(i -> i * 7).filter(i -> (i & 1) == 0).map(i -> i / 2)
+                                         .toArray();
+            assertArrayEquals(expected, filtered.toArray());
+            assertEquals(expected.length, filtered.count());
+            assertEquals(Arrays.stream(expected).sum(), filtered.sum());
+            assertEquals(Arrays.stream(expected).asLongStream().sum(), filtered.sumAsLong());
+            assertEquals(Arrays.stream(expected).max().orElse(Integer.MIN_VALUE),
+                         filtered.reduce(SafeReducers.IntMonoid.MAX));
+        }
+    }
+
+    @Test
+    @DisplayName("Range pipelines and array slices should only see their own elements")
+    void testRangeAndSlice() {
+        assertEquals(IntStream.range(0, 100_000).map(i -> i * 7).sum(),
+                     IntPipeline.range(0, 100_000).parallel().map(i -> i * 7).sum());
+        assertArrayEquals(new int[]{10, 12, 14}, IntPipeline.range(5, 8).map(i -> i * 2).toArray());
+        assertEquals(0, IntPipeline.range(8, 5).count());
+
+        final int[] values = {1, 2, 3, 4, 5, 6};
+        assertArrayEquals(new int[]{2, 4}, IntPipeline.of(values, 1, 4).filter(i -> i % 2 == 0).toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> IntPipeline.of(values, 2, 7));
+    }
+
+    @Test
+    @DisplayName("Parallel pipelines over negative ranges should split correctly and wide ranges should not overflow")
+    void testNegativeAndWideRanges() {
+        final IntPipeline negative = IntPipeline.range(-100_000, 0).parallel();
+        assertEquals(100_000L, negative.map(i -> 1).sumAsLong());
+        assertEquals(IntStream.range(-100_000, 0).sum(), negative.sum());
+        assertEquals(IntStream.range(-100_000, 0).asLongStream().sum(), negative.sumAsLong());
+        assertEquals(IntStream.range(-100_000, 0).filter(i -> i % 3 == 0).count(),
+                     negative.filter(i -> i % 3 == 0).count());
+        assertArrayEquals(IntStream.range(-100_000, 0).toArray(), negative.toArray());
+
+        final IntPipeline wide = IntPipeline.range(Integer.MIN_VALUE, Integer.MAX_VALUE).parallel();
+        assertEquals((long) Integer.MAX_VALUE - Integer.MIN_VALUE, wide.count());
+        assertThrows(IllegalArgumentException.class, wide::toArray);
+    }
+
+    @Test
+    @DisplayName("Stages should be immutable and run inside the caller's fork-join pool")
+    void testImmutableStagesAndCallerPool() {
+        final IntPipeline source = IntPipeline.range(0, 50_000);
+        final IntPipeline even = source.filter(i -> i % 2 == 0);
+        assertEquals(50_000, source.count());
+        assertEquals(25_000, even.count());
+        assertFalse(even.parallel().sequential().isParallel());
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final int[] out = pool.submit(() -> even.parallel().map(i -> i + 1).toArray()).join();
+            assertEquals(25_000, out.length);
+            for (int i = 0; i < out.length; i++) {
+                assertEquals(2 * i + 1, out[i]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
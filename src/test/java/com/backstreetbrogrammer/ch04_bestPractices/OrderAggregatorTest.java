@@ -0,0 +1,88 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import com.backstreetbrogrammer.ch04_bestPractices.OrderAggregator.SymbolSide;
+import com.backstreetbrogrammer.ch04_bestPractices.OrderAggregator.Totals;
+import com.backstreetbrogrammer.model.CompactOrder;
+import com.backstreetbrogrammer.model.Order;
+import com.backstreetbrogrammer.model.OrderColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderAggregatorTest {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG", "AMZN", "META"};
+    private static final String[] SIDES = {"BUY", "SELL"};
+
+    private final List<Order> orders = generate(200_000);
+
+    @Test
+    @DisplayName("Aggregates per (symbol, side) should match groupingBy over the same orders")
+    void testMatchesGroupingBy() {
+        final Map<SymbolSide, List<Order>> expected =
+                orders.stream()
+                      .collect(Collectors.groupingBy(order -> new SymbolSide(order.getSymbol(), order.getSide())));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Map<SymbolSide, Totals> sequential = OrderAggregator.aggregate(orders, false);
+            final Map<SymbolSide, Totals> parallel = pool.submit(() -> OrderAggregator.aggregate(orders, true)).join();
+            final Map<SymbolSide, Totals> columns =
+                    pool.submit(() -> OrderAggregator.aggregate(OrderColumns.of(orders), true)).join();
+
+            final List<CompactOrder> compactOrders = orders.stream().map(CompactOrder::of).collect(Collectors.toList());
+            final Map<SymbolSide, Totals> compact =
+                    pool.submit(() -> OrderAggregator.aggregateCompact(compactOrders, true)).join();
+
+            for (final Map<SymbolSide, Totals> actual : List.of(sequential, parallel, columns, compact)) {
+                assertEquals(expected.keySet(), actual.keySet());
+                expected.forEach((key, group) -> {
+                    final Totals totals = actual.get(key);
+                    final long quantity = group.stream().mapToLong(Order::getQuantity).sum();
+                    final double notional = group.stream().mapToDouble(o -> o.getPrice() * o.getQuantity()).sum();
+                    assertEquals(group.size(), totals.getCount());
+                    assertEquals(quantity, totals.getQuantity());
+                    assertEquals(notional, totals.getNotional(), 1e-6 * notional);
+                    assertEquals(notional / quantity, totals.getVwap(), 1e-9 * totals.getVwap());
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Only (symbol, side) pairs with orders should appear, and side names should be normalised")
+    void testSparseKeys() {
+        final List<Order> few = List.of(new Order(1, "AAPL", 10D, 5, "buy"),
+                                        new Order(2, "AAPL", 20D, 15, "BUY"),
+                                        new Order(3, "MSFT", 30D, 1, "SELL"));
+        final Map<SymbolSide, Totals> totals = OrderAggregator.aggregate(few, true);
+
+        assertEquals(2, totals.size());
+        final Totals aaplBuy = totals.get(new SymbolSide("AAPL", "BUY"));
+        assertEquals(2L, aaplBuy.getCount());
+        assertEquals(20L, aaplBuy.getQuantity());
+        assertEquals(17.5D, aaplBuy.getVwap(), 1e-12);
+        assertTrue(totals.containsKey(new SymbolSide("MSFT", "sell")));
+    }
+
+    private static List<Order> generate(final int n) {
+        final Random random = new Random(271828L);
+        final List<Order> orders = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            orders.add(new Order(i, SYMBOLS[random.nextInt(SYMBOLS.length)], 100D + random.nextInt(10_000) / 100D,
+                                 1 + random.nextInt(2_000), SIDES[random.nextInt(SIDES.length)]));
+        }
+        return orders;
+    }
+}
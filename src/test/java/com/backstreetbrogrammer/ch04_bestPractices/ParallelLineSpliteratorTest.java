@@ -0,0 +1,54 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelLineSpliteratorTest {
+
+    private static final Path WORDS = Path.of("src", "main", "resources", "words.txt");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Parallel mapped lines should match Files.lines in encounter order")
+    void testLinesMatchFilesLines() throws IOException {
+        final List<String> expected = Files.readAllLines(WORDS);
+
+        try (final Stream<String> lines = ParallelLineSpliterator.lines(WORDS, true)) {
+            assertEquals(expected, lines.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("Char sequence view should expose the same characters as the lines")
+    void testCharSequences() throws IOException {
+        final List<String> expected = Files.readAllLines(WORDS);
+
+        try (final Stream<CharSequence> lines = ParallelLineSpliterator.charSequences(WORDS, true)) {
+            assertEquals(expected, lines.map(CharSequence::toString).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("CRLF endings, empty lines and a missing trailing newline should be handled like Files.lines")
+    void testLineEndings() throws IOException {
+        final Path path = tempDir.resolve("lines.txt");
+        Files.write(path, "first\r\n\r\nthird\nlast".getBytes(StandardCharsets.UTF_8));
+
+        try (final Stream<String> lines = ParallelLineSpliterator.lines(path, true)) {
+            assertEquals(List.of("first", "", "third", "last"), lines.collect(Collectors.toList()));
+        }
+    }
+}
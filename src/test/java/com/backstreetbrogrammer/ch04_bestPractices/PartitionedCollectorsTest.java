@@ -0,0 +1,63 @@
+package com.backstreetbrogrammer.ch04_bestPractices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedCollectorsTest {
+
+    private final List<Integer> numbers = IntStream.range(0, 200_000)
+                                                   .map(i -> i % 50_000)
+                                                   .boxed()
+                                                   .collect(Collectors.toList());
+
+    @Test
+    @DisplayName("Partitioned toSet should match Collectors.toSet()")
+    void testToSet() {
+        final Set<Integer> expected = numbers.stream().collect(Collectors.toSet());
+        final Set<Integer> actual = numbers.parallelStream().collect(PartitionedCollectors.toSet());
+
+        assertEquals(expected, actual);
+        assertEquals(actual, expected);
+        assertTrue(actual.contains(49_999));
+        assertFalse(actual.contains(50_000));
+        assertThrows(UnsupportedOperationException.class, () -> actual.add(1));
+    }
+
+    @Test
+    @DisplayName("Partitioned toMap should merge duplicate keys and reject them without a merge function")
+    void testToMap() {
+        final Map<Integer, Integer> expected = numbers.stream().collect(Collectors.toMap(i -> i, i -> 1, Integer::sum));
+        final Map<Integer, Integer> actual = numbers.parallelStream()
+                                                    .collect(PartitionedCollectors.toMap(i -> i, i -> 1, Integer::sum));
+
+        assertEquals(expected, actual);
+        assertEquals(4, actual.get(123));
+        assertThrows(IllegalStateException.class,
+                     () -> numbers.parallelStream().collect(PartitionedCollectors.toMap(i -> i, i -> i)));
+    }
+
+    @Test
+    @DisplayName("Partitioned groupingBy should keep encounter order inside each group")
+    void testGroupingBy() {
+        final Map<Integer, List<Integer>> expected = numbers.stream().collect(Collectors.groupingBy(i -> i % 7));
+        final Map<Integer, List<Integer>> actual = numbers.parallelStream()
+                                                          .collect(PartitionedCollectors.groupingBy(i -> i % 7));
+
+        assertEquals(expected, new HashMap<>(actual));
+
+        final Map<Integer, Long> counts = numbers.parallelStream()
+                                                 .collect(PartitionedCollectors.groupingBy(i -> i % 7,
+                                                                                           Collectors.counting(),
+                                                                                           3));
+        assertEquals(numbers.stream().collect(Collectors.groupingBy(i -> i % 7, Collectors.counting())), counts);
+    }
+}
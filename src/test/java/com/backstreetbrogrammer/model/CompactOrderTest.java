@@ -0,0 +1,61 @@
+package com.backstreetbrogrammer.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactOrderTest {
+
+    @Test
+    @DisplayName("Concurrent encoding should hand out one dense code per symbol")
+    void testSymbolDictionary() {
+        final SymbolDictionary dictionary = new SymbolDictionary();
+        final Set<Integer> codes = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000)
+                 .parallel()
+                 .forEach(i -> codes.add(dictionary.code("SYM" + (i % 1_000))));
+
+        assertEquals(1_000, dictionary.size());
+        assertEquals(1_000, codes.size());
+        assertTrue(codes.stream().allMatch(code -> code >= 0 && code < 1_000));
+        for (int i = 0; i < 1_000; i++) {
+            final int code = dictionary.codeIfPresent("SYM" + i);
+            assertEquals("SYM" + i, dictionary.symbol(code));
+        }
+        assertEquals(-1, dictionary.codeIfPresent("UNKNOWN"));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.symbol(1_000));
+        assertSame(dictionary.intern("SYM7"), dictionary.intern(new String("SYM7")));
+    }
+
+    @Test
+    @DisplayName("Compact orders should round-trip through Order and compare by value")
+    void testCompactOrder() {
+        final Order order = new Order(42, "AAPL", 123.45D, 100, "sell");
+        final CompactOrder compact = CompactOrder.of(order);
+        final CompactOrder same = CompactOrder.of(42, new String("AAPL"), 123.45D, 100, "SELL");
+
+        assertEquals("AAPL", compact.getSymbol());
+        assertEquals(Side.SELL, compact.getSide());
+        assertEquals(OrderColumns.SELL, compact.getSideCode());
+        assertEquals(compact, same);
+        assertEquals(compact.hashCode(), same.hashCode());
+        assertNotEquals(compact, CompactOrder.of(42, "AAPL", 123.45D, 100, "BUY"));
+        assertEquals(new Order(42, "AAPL", 123.45D, 100, "SELL"), compact.toOrder());
+        assertThrows(IllegalArgumentException.class, () -> CompactOrder.of(1, "AAPL", 1D, 1, "HOLD"));
+    }
+
+    @Test
+    @DisplayName("Order.hashCode should keep the value of Objects.hash over its fields")
+    void testOrderHashCodeUnchanged() {
+        final Order order = new Order(7, "MSFT", 99.5D, 10, "BUY");
+        assertEquals(Objects.hash(7, "MSFT", 99.5D, 10, "BUY"), order.hashCode());
+        assertEquals(order, new Order(7, new String("MSFT"), 99.5D, 10, new String("BUY")));
+        assertNotEquals(order, new Order(7, "MSFT", 99.6D, 10, "BUY"));
+    }
+}
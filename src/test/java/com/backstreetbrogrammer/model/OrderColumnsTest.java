@@ -0,0 +1,80 @@
+package com.backstreetbrogrammer.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderColumnsTest {
+
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "GOOG"};
+
+    private final List<Order> orders = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 10_000; i++) {
+            orders.add(new Order(SYMBOLS[random.nextInt(SYMBOLS.length)],
+                                 100D + random.nextInt(100),
+                                 1 + random.nextInt(2_000),
+                                 random.nextBoolean() ? "BUY" : "SELL"));
+        }
+    }
+
+    @Test
+    @DisplayName("Columns should hold the same values as the source orders")
+    void testColumnsMatchOrders() {
+        final OrderColumns columns = OrderColumns.of(orders);
+
+        assertEquals(orders.size(), columns.size());
+        assertEquals(SYMBOLS.length, columns.symbolCount());
+        for (int row = 0; row < orders.size(); row++) {
+            final Order order = orders.get(row);
+            assertEquals(order.getOrderId(), columns.getOrderId(row));
+            assertEquals(order.getSymbol(), columns.getSymbol(row));
+            assertEquals(order.getPrice(), columns.getPrice(row));
+            assertEquals(order.getQuantity(), columns.getQuantity(row));
+            assertEquals(order.getSide(), OrderColumns.sideName(columns.getSide(row)));
+        }
+    }
+
+    @Test
+    @DisplayName("Sequential and parallel column scans should count the same big orders")
+    void testCountQuantityAtLeast() {
+        final OrderColumns columns = OrderColumns.of(orders);
+        final long expected = orders.stream()
+                                    .filter(order -> order.getQuantity() >= 1000)
+                                    .count();
+
+        assertEquals(expected, columns.countQuantityAtLeast(1000));
+        assertEquals(expected, columns.countQuantityAtLeast(1000, true));
+        assertEquals(expected, columns.quantities(true).filter(q -> q >= 1000).count());
+    }
+
+    @Test
+    @DisplayName("Row spliterator should split into exactly sized halves")
+    void testRowSpliteratorSplit() {
+        final OrderColumns columns = OrderColumns.of(orders);
+        final Spliterator.OfInt right = columns.rowSpliterator();
+        final Spliterator.OfInt left = right.trySplit();
+
+        assertNotNull(left);
+        assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(orders.size(), left.estimateSize() + right.estimateSize());
+        assertEquals(orders.size() / 2, left.estimateSize());
+    }
+
+    @Test
+    @DisplayName("Unknown side should be rejected")
+    void testUnknownSide() {
+        final OrderColumns columns = new OrderColumns();
+        assertThrows(IllegalArgumentException.class, () -> columns.add(1, "AAPL", 1D, 1, "HOLD"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.backstreetbrogrammer.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Random random = new Random(7L);
+
+    private final List<Order> orders = IntStream.range(0, 50_000)
+                                                .mapToObj(i -> new Order(i % 2 == 0 ? "AAPL" : "BRK.B",
+                                                                         random.nextInt(10_000) / 100D,
+                                                                         1 + random.nextInt(2_000),
+                                                                         i % 3 == 0 ? "BUY" : "SELL"))
+                                                .collect(Collectors.toList());
+
+    @Test
+    @DisplayName("Orders written to a file should be read back unchanged")
+    void testRoundTrip() throws IOException {
+        final Path path = tempDir.resolve("orders.bin");
+        OrderFile.write(path, orders);
+
+        assertEquals(OrderFile.HEADER_BYTES + (long) orders.size() * OrderFile.RECORD_BYTES, Files.size(path));
+        assertEquals(orders, OrderFile.readAll(path));
+    }
+
+    @Test
+    @DisplayName("Parallel scan over the mapped file should count the same big orders")
+    void testParallelCount() throws IOException {
+        final Path path = tempDir.resolve("orders.bin");
+        OrderFile.write(path, orders);
+        final long expected = orders.stream()
+                                    .filter(order -> order.getQuantity() >= 1000)
+                                    .count();
+
+        try (final OrderFile file = OrderFile.open(path)) {
+            assertEquals(orders.size(), file.size());
+            assertEquals(expected, file.countQuantityAtLeast(1000, false));
+            assertEquals(expected, file.countQuantityAtLeast(1000, true));
+            assertEquals(expected, file.orders(true).filter(order -> order.getQuantity() >= 1000).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Files without the order header should be rejected")
+    void testInvalidFile() throws IOException {
+        final Path path = tempDir.resolve("garbage.bin");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> OrderFile.open(path));
+    }
+}
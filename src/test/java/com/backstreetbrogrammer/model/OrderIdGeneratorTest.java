@@ -0,0 +1,78 @@
+package com.backstreetbrogrammer.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIdGeneratorTest {
+
+    private final OrderIdGenerator defaultGenerator = Order.getIdGenerator();
+
+    @AfterEach
+    void tearDown() {
+        Order.setIdGenerator(defaultGenerator);
+    }
+
+    @Test
+    @DisplayName("Every strategy should hand out unique ids to concurrent callers")
+    void testUniqueAcrossThreads() {
+        final ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            for (final OrderIdGenerator generator : List.of(OrderIdGenerator.atomic(1L),
+                                                            OrderIdGenerator.blocks(1L, 64),
+                                                            OrderIdGenerator.timestampSequence())) {
+                final Set<Long> ids = ConcurrentHashMap.newKeySet();
+                pool.submit(() -> IntStream.range(0, 200_000)
+                                           .parallel()
+                                           .forEach(i -> assertTrue(ids.add(generator.nextId()))))
+                    .join();
+                assertEquals(200_000, ids.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Block leases should give a single thread consecutive ids that run past 2^31")
+    void testBlocks() {
+        final OrderIdGenerator generator = OrderIdGenerator.blocks(Integer.MAX_VALUE - 1L, 4);
+        for (long expected = Integer.MAX_VALUE - 1L; expected < Integer.MAX_VALUE + 10L; expected++) {
+            assertEquals(expected, generator.nextId());
+        }
+        assertThrows(IllegalArgumentException.class, () -> OrderIdGenerator.blocks(1L, 0));
+    }
+
+    @Test
+    @DisplayName("Timestamp-sequence ids should increase per thread and encode the creation time")
+    void testTimestampSequence() {
+        final OrderIdGenerator generator = OrderIdGenerator.timestampSequence();
+        final long before = System.currentTimeMillis();
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            final long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        final long millis = OrderIdGenerator.TimestampSequence.timestampMillis(
+                previous, OrderIdGenerator.TimestampSequence.DEFAULT_EPOCH_MILLIS);
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1_000L);
+    }
+
+    @Test
+    @DisplayName("Orders should take their ids from the configured generator")
+    void testOrderUsesGenerator() {
+        Order.setIdGenerator(OrderIdGenerator.atomic(5_000_000_000L));
+        assertEquals(5_000_000_000L, new Order("AAPL", 1D, 1, "BUY").getOrderId());
+        assertEquals(5_000_000_001L, new Order("AAPL", 1D, 1, "BUY").getOrderId());
+        assertEquals(7L, new Order(() -> 7L, "AAPL", 1D, 1, "BUY").getOrderId());
+    }
+}